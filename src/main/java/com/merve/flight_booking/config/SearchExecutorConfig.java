@@ -0,0 +1,38 @@
+package com.merve.flight_booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SearchExecutorConfig {
+
+    // Multi-city bacaklarını paralel değerlendirmek için sınırlı havuz.
+    // Kuyruk dolarsa iş reddedilir (RejectedExecutionException); çağıran hızlıca 503 döner,
+    // istek thread'inde senkron çalışıp deadline'ı aşmaz.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService searchExecutor(
+            @Value("${app.search.executor.threads:8}") int threads,
+            @Value("${app.search.executor.queue-size:256}") int queueSize
+    ) {
+        AtomicInteger seq = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "flight-search-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+}
@@ -1,13 +1,17 @@
 
 package com.merve.flight_booking.controller;
 
+import com.merve.flight_booking.dto.FlightView;
 import com.merve.flight_booking.entity.Airline;
 import com.merve.flight_booking.entity.Airport;
 import com.merve.flight_booking.entity.Flight;
+import com.merve.flight_booking.event.FlightChangedEvent;
 import com.merve.flight_booking.repository.AirlineRepository;
 import com.merve.flight_booking.repository.AirportRepository;
 import com.merve.flight_booking.repository.BookingRepository;
 import com.merve.flight_booking.repository.FlightRepository;
+import com.merve.flight_booking.service.FlightInventoryIndex;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -26,6 +30,7 @@ public class AdminFlightController {
     private final AirlineRepository airlineRepository;
     private final AirportRepository airportRepository;
     private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final DateTimeFormatter DT_LOCAL =
             DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
@@ -34,12 +39,14 @@ public class AdminFlightController {
             FlightRepository flightRepository,
             AirlineRepository airlineRepository,
             AirportRepository airportRepository,
-            BookingRepository bookingRepository
+            BookingRepository bookingRepository,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.flightRepository = flightRepository;
         this.airlineRepository = airlineRepository;
         this.airportRepository = airportRepository;
         this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -143,7 +150,10 @@ public class AdminFlightController {
         f.setArrivalTime(arr);
         f.setBasePrice(basePrice);
 
-        flightRepository.save(f);
+        Flight saved = flightRepository.save(f);
+
+        // bellek içi indeksler (arama vb.) güncellensin
+        eventPublisher.publishEvent(new FlightChangedEvent(null, FlightInventoryIndex.toView(saved)));
 
         ra.addFlashAttribute("msg", "Flight created successfully.");
         return "redirect:/admin/flights";
@@ -176,7 +186,8 @@ public class AdminFlightController {
     public String delete(@PathVariable Long id, RedirectAttributes ra) {
         if (id == null) return "redirect:/admin/flights";
 
-        if (!flightRepository.existsById(id)) {
+        Optional<FlightView> existing = flightRepository.findViewById(id);
+        if (existing.isEmpty()) {
             ra.addFlashAttribute("msg", "Flight not found.");
             return "redirect:/admin/flights";
         }
@@ -187,6 +198,8 @@ public class AdminFlightController {
         }
 
         flightRepository.deleteById(id);
+        eventPublisher.publishEvent(new FlightChangedEvent(existing.get(), null));
+
         ra.addFlashAttribute("msg", "Flight deleted.");
         return "redirect:/admin/flights";
     }
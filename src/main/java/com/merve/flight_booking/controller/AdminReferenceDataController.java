@@ -0,0 +1,64 @@
+package com.merve.flight_booking.controller;
+
+import com.merve.flight_booking.service.ReferenceDataImportService;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+@Controller
+@RequestMapping("/admin/reference-data")
+public class AdminReferenceDataController {
+
+    private final ReferenceDataImportService importService;
+
+    public AdminReferenceDataController(ReferenceDataImportService importService) {
+        this.importService = importService;
+    }
+
+    @GetMapping
+    public String form(Model model) {
+        model.addAttribute("targets", ReferenceDataImportService.Target.values());
+        return "admin-reference-data"; // templates/admin-reference-data.html
+    }
+
+    // CSV yükle -> batch upsert -> bellek içi indeksler yenilenir (restart gerekmez)
+    @PostMapping("/import")
+    public String importCsv(
+            @RequestParam ReferenceDataImportService.Target target,
+            @RequestParam("file") MultipartFile file,
+            RedirectAttributes ra
+    ) {
+        if (file.isEmpty()) {
+            ra.addFlashAttribute("error", "Please choose a CSV file.");
+            return "redirect:/admin/reference-data";
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            ReferenceDataImportService.ImportResult r = importService.importCsv(target, in);
+            ra.addFlashAttribute("msg", String.format("%s imported: %d inserted, %d updated, %d skipped.",
+                    file.getOriginalFilename(), r.inserted(), r.updated(), r.skipped()));
+        } catch (IllegalArgumentException | IOException | UncheckedIOException e) {
+            // Hatalı satır / okunamayan dosya (CSV okuyucusu IOException'ı UncheckedIOException olarak sarar)
+            ra.addFlashAttribute("error", "Import failed: " + e.getMessage());
+        } catch (DataAccessException e) {
+            // Kolon uzunluğu, unique ihlali vb.; transaction zaten geri alındı
+            ra.addFlashAttribute("error", "Import failed: " + e.getMostSpecificCause().getMessage());
+        }
+        return "redirect:/admin/reference-data";
+    }
+
+    // Option / fare type tabloları SQL ile değiştirildiyse snapshot'ları, fare cache'ini ve takvimi yeniler
+    @PostMapping("/refresh-options")
+    public String refreshOptions(RedirectAttributes ra) {
+        importService.refreshOptions();
+        ra.addFlashAttribute("msg", "Seat, meal, baggage options and fare types refreshed.");
+        return "redirect:/admin/reference-data";
+    }
+}
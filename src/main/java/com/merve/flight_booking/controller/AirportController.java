@@ -1,7 +1,11 @@
 package com.merve.flight_booking.controller;
 
 import com.merve.flight_booking.dto.AirportDto;
+import com.merve.flight_booking.dto.NearbyAirportDto;
 import com.merve.flight_booking.service.AirportService;
+import com.merve.flight_booking.service.ReferenceDataSnapshots;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -12,17 +16,36 @@ import java.util.List;
 public class AirportController {
 
     private final AirportService airportService;
+    private final ReferenceDataSnapshots snapshots;
 
-    public AirportController(AirportService airportService) {
+    public AirportController(AirportService airportService, ReferenceDataSnapshots snapshots) {
         this.airportService = airportService;
+        this.snapshots = snapshots;
     }
 
     // Hepsini listele
     @GetMapping
-    public List<AirportDto> list(@RequestParam(value = "q", required = false) String q) {
-        // q verilirse search, verilmezse listAll
-        if (q == null || q.isBlank()) return airportService.listAll();
-        return airportService.search(q);
+    public ResponseEntity<?> list(
+            @RequestParam(value = "q", required = false) String q,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        // q verilirse search, verilmezse hazır snapshot (ETag / 304)
+        if (q == null || q.isBlank()) {
+            return ReferenceDataResponses.of(
+                    snapshots.get(ReferenceDataSnapshots.Kind.AIRPORTS), ifNoneMatch, acceptEncoding);
+        }
+        return ResponseEntity.ok(airportService.search(q));
+    }
+
+    // Nearby: verilen koordinata radiusKm içindeki havalimanları, yakından uzağa
+    @GetMapping("/nearby")
+    public List<NearbyAirportDto> nearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "100") double radiusKm
+    ) {
+        return airportService.nearby(lat, lon, radiusKm);
     }
 
     // From: kalkışı olan havalimanları
@@ -1,23 +1,27 @@
 package com.merve.flight_booking.controller;
 
-import com.merve.flight_booking.entity.BaggageOption;
-import com.merve.flight_booking.repository.BaggageOptionRepository;
+import com.merve.flight_booking.service.ReferenceDataSnapshots;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/baggage-options")
 public class BaggageOptionController {
 
-    private final BaggageOptionRepository repo;
+    private final ReferenceDataSnapshots snapshots;
 
-    public BaggageOptionController(BaggageOptionRepository repo) {
-        this.repo = repo;
+    public BaggageOptionController(ReferenceDataSnapshots snapshots) {
+        this.snapshots = snapshots;
     }
 
+    // Hazır JSON snapshot; ETag eşleşirse 304
     @GetMapping
-    public List<BaggageOption> getAll() {
-        return repo.findAll();
+    public ResponseEntity<byte[]> getAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return ReferenceDataResponses.of(
+                snapshots.get(ReferenceDataSnapshots.Kind.BAGGAGE_OPTIONS), ifNoneMatch, acceptEncoding);
     }
 }
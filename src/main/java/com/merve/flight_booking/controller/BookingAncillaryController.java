@@ -0,0 +1,26 @@
+package com.merve.flight_booking.controller;
+
+import com.merve.flight_booking.dto.AncillariesRequest;
+import com.merve.flight_booking.dto.PriceBreakdownResponse;
+import com.merve.flight_booking.service.BookingAncillaryService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/bookings")
+public class BookingAncillaryController {
+
+    private final BookingAncillaryService bookingAncillaryService;
+
+    public BookingAncillaryController(BookingAncillaryService bookingAncillaryService) {
+        this.bookingAncillaryService = bookingAncillaryService;
+    }
+
+    // Koltuk + yemek + bagaj tek istekte; güncel fiyat dökümü döner
+    @PutMapping("/{id}/ancillaries")
+    public PriceBreakdownResponse updateAncillaries(
+            @PathVariable Long id,
+            @RequestBody AncillariesRequest request
+    ) {
+        return bookingAncillaryService.updateAncillaries(id, request);
+    }
+}
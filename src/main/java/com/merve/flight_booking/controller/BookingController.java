@@ -1,8 +1,12 @@
 package com.merve.flight_booking.controller;
 
 import com.merve.flight_booking.dto.BookingRequest;
+import com.merve.flight_booking.dto.BookingSummaryPage;
+import com.merve.flight_booking.dto.GroupBookingRequest;
+import com.merve.flight_booking.dto.PriceBreakdownResponse;
 import com.merve.flight_booking.entity.Booking;
 import com.merve.flight_booking.service.BookingService;
+import com.merve.flight_booking.service.GroupBookingService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -12,14 +16,25 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final GroupBookingService groupBookingService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, GroupBookingService groupBookingService) {
         this.bookingService = bookingService;
+        this.groupBookingService = groupBookingService;
     }
 
     @PostMapping
-    public Booking createBooking(@RequestBody BookingRequest request) {
-        return bookingService.createBooking(request);
+    public Booking createBooking(
+            @RequestBody BookingRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        return bookingService.createBooking(request, idempotencyKey);
+    }
+
+    // Tek booking, N yolcu (yolcu başına koltuk / yemek / bagaj)
+    @PostMapping("/group")
+    public Booking createGroupBooking(@RequestBody GroupBookingRequest request) {
+        return groupBookingService.createGroupBooking(request);
     }
 
     @GetMapping("/{id}")
@@ -27,6 +42,12 @@ public class BookingController {
         return bookingService.getBookingDetail(id);
     }
 
+    // Receipt için kalem kalem fiyat dökümü
+    @GetMapping("/{id}/price-breakdown")
+    public PriceBreakdownResponse priceBreakdown(@PathVariable Long id) {
+        return bookingService.getPriceBreakdown(id);
+    }
+
     @PutMapping("/{id}/cancel")
     public void cancel(@PathVariable Long id) {
         bookingService.cancelBooking(id);
@@ -36,6 +57,13 @@ public class BookingController {
     public List<Booking> myBookings() {
         return bookingService.getMyBookings();
     }
-}
-
 
+    // Hafif liste (sayfalı); tam detay GET /{id}
+    @GetMapping("/my/summary")
+    public BookingSummaryPage mySummary(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return bookingService.getMyBookingSummaries(cursor, size);
+    }
+}
@@ -22,7 +22,8 @@ public class BookingSeatController {
         bookingSeatService.selectSeat(
                 id,
                 request.getOptionId(),
-                request.getSeatNumber()
+                request.getSeatNumber(),
+                request.isAutoAssign()
         );
     }
 }
@@ -6,6 +6,7 @@ import com.merve.flight_booking.service.FareTypeService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/flights")
@@ -17,6 +18,14 @@ public class FareTypeController {
         this.fareTypeService = fareTypeService;
     }
 
+    // Sonuç sayfası için toplu: ?ids=1,2,3 -> flightId -> fare options
+    @GetMapping("/fare-options")
+    public Map<Long, List<FareOptionResponse>> getFareOptionsBatch(
+            @RequestParam List<Long> ids
+    ) {
+        return fareTypeService.getFareOptionsForFlightIds(ids);
+    }
+
     @GetMapping("/{flightId}/fare-options")
     public List<FareOptionResponse> getFareOptions(
             @PathVariable Long flightId
@@ -1,12 +1,25 @@
 package com.merve.flight_booking.controller;
 
+import com.merve.flight_booking.dto.FareCalendarResponse;
+import com.merve.flight_booking.dto.FlightSearchOptions;
 import com.merve.flight_booking.dto.FlightSearchResponse;
+import com.merve.flight_booking.dto.MultiCityRequest;
+import com.merve.flight_booking.dto.MultiCityResponse;
 import com.merve.flight_booking.dto.RoundTripFlightResponse;
+import com.merve.flight_booking.dto.SeatMapResponse;
+import com.merve.flight_booking.dto.SeatRecommendationResponse;
 import com.merve.flight_booking.service.FlightService;
+import com.merve.flight_booking.service.SeatMapService;
+import com.merve.flight_booking.service.SeatRecommender;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -14,9 +27,13 @@ import java.util.List;
 public class FlightController {
 
     private final FlightService flightService;
+    private final SeatMapService seatMapService;
+    private final SeatRecommender seatRecommender;
 
-    public FlightController(FlightService flightService) {
+    public FlightController(FlightService flightService, SeatMapService seatMapService, SeatRecommender seatRecommender) {
         this.flightService = flightService;
+        this.seatMapService = seatMapService;
+        this.seatRecommender = seatRecommender;
     }
 
     @GetMapping("/search")
@@ -28,9 +45,74 @@ public class FlightController {
             LocalDate departureDate,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-            LocalDate returnDate
+            LocalDate returnDate,
+            // sort, filtreler, pageSize/cursor, includeFares, includeConnections
+            @ModelAttribute FlightSearchOptions options
     ) {
-        return flightService.searchFlights(from, to, departureDate, returnDate);
+        return flightService.searchFlights(from, to, departureDate, returnDate, options);
     }
 
+    @PostMapping("/multi-city")
+    public MultiCityResponse searchMultiCity(@RequestBody MultiCityRequest request) {
+        return flightService.searchMultiCity(request);
+    }
+
+    // Esnek tarih: ?date=2026-11-10&days=3  veya  ?month=2026-11
+    @GetMapping("/calendar")
+    public FareCalendarResponse fareCalendar(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM")
+            YearMonth month
+    ) {
+        return flightService.fareCalendar(from, to, date, days, month);
+    }
+
+
+    // Koltuk haritası; check-in sırasında sık poll edilir, değişmediyse 304
+    @GetMapping("/{id}/seat-map")
+    public ResponseEntity<SeatMapResponse> seatMap(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        SeatMapService.SeatMap map = seatMapService.seatMap(id);
+
+        if (matchesEtag(ifNoneMatch, map.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(map.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(map.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(map.body());
+    }
+
+    // Grup için yan yana koltuk önerileri: ?partySize=3&seatType=WINDOW
+    @GetMapping("/{id}/seat-recommendations")
+    public List<SeatRecommendationResponse> seatRecommendations(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int partySize,
+            @RequestParam(required = false) String seatType
+    ) {
+        return seatRecommender.recommendations(id, partySize, seatType);
+    }
+
+    // If-None-Match: "*" ya da virgüllü liste; GET için zayıf karşılaştırma (W/ öneki yok sayılır)
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.equals("*") || t.equals(etag)) return true;
+        }
+        return false;
+    }
 }
@@ -17,7 +17,10 @@ public class PaymentController {
     }
 
     @PostMapping("/{id}/pay")
-    public PaymentResponseDTO pay(@PathVariable Long id) {
-        return paymentService.pay(id);
+    public PaymentResponseDTO pay(
+            @PathVariable Long id,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        return paymentService.pay(id, idempotencyKey);
     }
 }
@@ -0,0 +1,41 @@
+package com.merve.flight_booking.controller;
+
+import com.merve.flight_booking.service.ReferenceDataSnapshots;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+
+/**
+ * Hazır snapshot'tan HTTP cevabı: 304 veya (gzip destekleniyorsa gzip'li) byte gövde.
+ */
+final class ReferenceDataResponses {
+
+    private ReferenceDataResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(ReferenceDataSnapshots.Snapshot snapshot, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        boolean notModified = snapshot.matches(ifNoneMatch);
+
+        // no-cache: istemci saklar ama her seferinde ETag ile doğrular
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(snapshot.etag(gzip))
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (notModified) return builder.build();
+
+        if (gzip) builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        byte[] body = gzip ? snapshot.gzip() : snapshot.json();
+
+        return builder
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+}
@@ -5,5 +5,8 @@ public record AirportDto(
         String city,
         String code,
         String country,
-        String name
+        String name,
+        String metroCode,
+        Double latitude,
+        Double longitude
 ) {}
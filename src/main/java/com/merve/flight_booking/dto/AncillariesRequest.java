@@ -0,0 +1,32 @@
+package com.merve.flight_booking.dto;
+
+// Verilmeyen (null) ek hizmet değişmez
+public class AncillariesRequest {
+    private SeatSelectRequest seat;
+    private SelectOptionRequest meal;
+    private SelectOptionRequest baggage;
+
+    public SeatSelectRequest getSeat() {
+        return seat;
+    }
+
+    public void setSeat(SeatSelectRequest seat) {
+        this.seat = seat;
+    }
+
+    public SelectOptionRequest getMeal() {
+        return meal;
+    }
+
+    public void setMeal(SelectOptionRequest meal) {
+        this.meal = meal;
+    }
+
+    public SelectOptionRequest getBaggage() {
+        return baggage;
+    }
+
+    public void setBaggage(SelectOptionRequest baggage) {
+        this.baggage = baggage;
+    }
+}
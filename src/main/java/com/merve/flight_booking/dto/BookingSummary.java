@@ -0,0 +1,25 @@
+package com.merve.flight_booking.dto;
+
+import com.merve.flight_booking.entity.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// "Rezervasyonlarım" listesi için hafif satır (tek projection sorgusundan)
+public record BookingSummary(
+        Long id,
+        BookingStatus status,
+        double totalPrice,
+        LocalDateTime bookingDate,
+        LocalDateTime holdExpiresAt,
+        Long flightId,
+        String flightNumber,
+        String airlineCode,
+        String airlineName,
+        String fromCode,
+        String toCode,
+        LocalDateTime departureTime,
+        LocalDateTime arrivalTime,
+        String fareType,
+        String seatNumber,
+        int passengerCount
+) {}
@@ -0,0 +1,8 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public record BookingSummaryPage(
+        List<BookingSummary> bookings,
+        String nextCursor // null: son sayfa
+) {}
@@ -0,0 +1,10 @@
+package com.merve.flight_booking.dto;
+
+import java.time.LocalDate;
+
+// lowestFare == null => o gün uçuş yok
+public record FareCalendarDay(
+        LocalDate date,
+        Double lowestFare,
+        int flightCount
+) {}
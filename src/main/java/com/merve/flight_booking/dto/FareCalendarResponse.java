@@ -0,0 +1,9 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public record FareCalendarResponse(
+        String from,
+        String to,
+        List<FareCalendarDay> days
+) {}
@@ -0,0 +1,80 @@
+package com.merve.flight_booking.dto;
+
+public class FlightCombinationResponse {
+
+    private FlightSearchResponse outbound;
+    private FlightSearchResponse inbound;
+
+    // her bacak için en ucuz uygulanabilir fare type
+    private Long outboundAirlineFareTypeId;
+    private String outboundFareType;
+    private Long returnAirlineFareTypeId;
+    private String returnFareType;
+
+    private double totalPrice;
+    private long totalDurationMinutes;
+
+    public FlightSearchResponse getOutbound() {
+        return outbound;
+    }
+
+    public void setOutbound(FlightSearchResponse outbound) {
+        this.outbound = outbound;
+    }
+
+    public FlightSearchResponse getInbound() {
+        return inbound;
+    }
+
+    public void setInbound(FlightSearchResponse inbound) {
+        this.inbound = inbound;
+    }
+
+    public Long getOutboundAirlineFareTypeId() {
+        return outboundAirlineFareTypeId;
+    }
+
+    public void setOutboundAirlineFareTypeId(Long outboundAirlineFareTypeId) {
+        this.outboundAirlineFareTypeId = outboundAirlineFareTypeId;
+    }
+
+    public String getOutboundFareType() {
+        return outboundFareType;
+    }
+
+    public void setOutboundFareType(String outboundFareType) {
+        this.outboundFareType = outboundFareType;
+    }
+
+    public Long getReturnAirlineFareTypeId() {
+        return returnAirlineFareTypeId;
+    }
+
+    public void setReturnAirlineFareTypeId(Long returnAirlineFareTypeId) {
+        this.returnAirlineFareTypeId = returnAirlineFareTypeId;
+    }
+
+    public String getReturnFareType() {
+        return returnFareType;
+    }
+
+    public void setReturnFareType(String returnFareType) {
+        this.returnFareType = returnFareType;
+    }
+
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(double totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public long getTotalDurationMinutes() {
+        return totalDurationMinutes;
+    }
+
+    public void setTotalDurationMinutes(long totalDurationMinutes) {
+        this.totalDurationMinutes = totalDurationMinutes;
+    }
+}
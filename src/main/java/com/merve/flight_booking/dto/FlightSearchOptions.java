@@ -0,0 +1,155 @@
+package com.merve.flight_booking.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * /api/flights/search opsiyonel parametreleri (query string'den bind edilir).
+ * pageSize verilmezse eskisi gibi tüm liste döner.
+ */
+public class FlightSearchOptions {
+
+    private boolean includeConnections;
+    private boolean includeFares;
+
+    // kalkış/varışı yarıçap içindeki diğer havalimanlarına genişlet
+    private boolean includeNearby;
+    private Double nearbyRadiusKm;
+
+    // price | departure | duration
+    private String sort;
+
+    // filtreler
+    private List<String> airlines;
+
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime departureAfter;
+
+    @DateTimeFormat(pattern = "HH:mm")
+    private LocalTime departureBefore;
+
+    private Double maxPrice;
+
+    // gidiş-dönüş: en iyi K kombinasyon (price | duration)
+    private Integer combinations;
+    private String combinationSort;
+
+    // keyset sayfalama
+    private Integer pageSize;
+    private String cursor;
+    private String returnCursor;
+
+    public boolean isIncludeConnections() {
+        return includeConnections;
+    }
+
+    public void setIncludeConnections(boolean includeConnections) {
+        this.includeConnections = includeConnections;
+    }
+
+    public boolean isIncludeFares() {
+        return includeFares;
+    }
+
+    public void setIncludeFares(boolean includeFares) {
+        this.includeFares = includeFares;
+    }
+
+    public boolean isIncludeNearby() {
+        return includeNearby;
+    }
+
+    public void setIncludeNearby(boolean includeNearby) {
+        this.includeNearby = includeNearby;
+    }
+
+    public Double getNearbyRadiusKm() {
+        return nearbyRadiusKm;
+    }
+
+    public void setNearbyRadiusKm(Double nearbyRadiusKm) {
+        this.nearbyRadiusKm = nearbyRadiusKm;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public List<String> getAirlines() {
+        return airlines;
+    }
+
+    public void setAirlines(List<String> airlines) {
+        this.airlines = airlines;
+    }
+
+    public LocalTime getDepartureAfter() {
+        return departureAfter;
+    }
+
+    public void setDepartureAfter(LocalTime departureAfter) {
+        this.departureAfter = departureAfter;
+    }
+
+    public LocalTime getDepartureBefore() {
+        return departureBefore;
+    }
+
+    public void setDepartureBefore(LocalTime departureBefore) {
+        this.departureBefore = departureBefore;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Integer getCombinations() {
+        return combinations;
+    }
+
+    public void setCombinations(Integer combinations) {
+        this.combinations = combinations;
+    }
+
+    public String getCombinationSort() {
+        return combinationSort;
+    }
+
+    public void setCombinationSort(String combinationSort) {
+        this.combinationSort = combinationSort;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getReturnCursor() {
+        return returnCursor;
+    }
+
+    public void setReturnCursor(String returnCursor) {
+        this.returnCursor = returnCursor;
+    }
+}
@@ -1,6 +1,9 @@
 package com.merve.flight_booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class FlightSearchResponse {
 
@@ -18,6 +21,10 @@ public class FlightSearchResponse {
 
     private double basePrice;
 
+    // includeFares=true ise dolu
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<FareOptionResponse> fareOptions;
+
     // ===== GETTERS =====
     public Long getFlightId() {
         return flightId;
@@ -55,6 +62,10 @@ public class FlightSearchResponse {
         return basePrice;
     }
 
+    public List<FareOptionResponse> getFareOptions() {
+        return fareOptions;
+    }
+
     // ===== SETTERS =====
     public void setFlightId(Long flightId) {
         this.flightId = flightId;
@@ -91,4 +102,8 @@ public class FlightSearchResponse {
     public void setBasePrice(double basePrice) {
         this.basePrice = basePrice;
     }
+
+    public void setFareOptions(List<FareOptionResponse> fareOptions) {
+        this.fareOptions = fareOptions;
+    }
 }
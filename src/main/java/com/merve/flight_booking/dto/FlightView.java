@@ -0,0 +1,19 @@
+package com.merve.flight_booking.dto;
+
+import java.time.LocalDateTime;
+
+// Flight'ın arama tarafında ihtiyaç duyulan düz (immutable) hali
+public record FlightView(
+        Long id,
+        String flightNumber,
+        Long airlineId,
+        String airlineCode,
+        String airlineName,
+        Long departureAirportId,
+        String from,
+        Long arrivalAirportId,
+        String to,
+        LocalDateTime departureTime,
+        LocalDateTime arrivalTime,
+        double basePrice
+) {}
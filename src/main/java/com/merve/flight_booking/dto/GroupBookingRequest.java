@@ -0,0 +1,34 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public class GroupBookingRequest {
+
+    private Long flightId;
+    private Long airlineFareTypeId;
+    private List<PassengerRequest> passengers;
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public Long getAirlineFareTypeId() {
+        return airlineFareTypeId;
+    }
+
+    public void setAirlineFareTypeId(Long airlineFareTypeId) {
+        this.airlineFareTypeId = airlineFareTypeId;
+    }
+
+    public List<PassengerRequest> getPassengers() {
+        return passengers;
+    }
+
+    public void setPassengers(List<PassengerRequest> passengers) {
+        this.passengers = passengers;
+    }
+}
@@ -0,0 +1,66 @@
+package com.merve.flight_booking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ItineraryResponse {
+
+    private List<FlightSearchResponse> segments;
+    private int stops;
+
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private long totalDurationMinutes;
+
+    private double totalPrice;
+
+    // ===== GETTERS =====
+    public List<FlightSearchResponse> getSegments() {
+        return segments;
+    }
+
+    public int getStops() {
+        return stops;
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public LocalDateTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public long getTotalDurationMinutes() {
+        return totalDurationMinutes;
+    }
+
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    // ===== SETTERS =====
+    public void setSegments(List<FlightSearchResponse> segments) {
+        this.segments = segments;
+    }
+
+    public void setStops(int stops) {
+        this.stops = stops;
+    }
+
+    public void setDepartureTime(LocalDateTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public void setArrivalTime(LocalDateTime arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public void setTotalDurationMinutes(long totalDurationMinutes) {
+        this.totalDurationMinutes = totalDurationMinutes;
+    }
+
+    public void setTotalPrice(double totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+}
@@ -0,0 +1,28 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public class MultiCityRequest {
+
+    // sıralı bacaklar: A->B (gün 1), B->C (gün 2), ...
+    private List<MultiCityLegRequest> legs;
+
+    // dönecek zincirlenmiş itinerary sayısı (opsiyonel)
+    private Integer maxItineraries;
+
+    public List<MultiCityLegRequest> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<MultiCityLegRequest> legs) {
+        this.legs = legs;
+    }
+
+    public Integer getMaxItineraries() {
+        return maxItineraries;
+    }
+
+    public void setMaxItineraries(Integer maxItineraries) {
+        this.maxItineraries = maxItineraries;
+    }
+}
@@ -0,0 +1,28 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public class MultiCityResponse {
+
+    // bacak başına seçenekler (istek sırasıyla)
+    private List<List<FlightSearchResponse>> legOptions;
+
+    // her bacağın bir öncekinin varışından sonra kalktığı zincirler, toplam fiyata göre
+    private List<ItineraryResponse> itineraries;
+
+    public List<List<FlightSearchResponse>> getLegOptions() {
+        return legOptions;
+    }
+
+    public void setLegOptions(List<List<FlightSearchResponse>> legOptions) {
+        this.legOptions = legOptions;
+    }
+
+    public List<ItineraryResponse> getItineraries() {
+        return itineraries;
+    }
+
+    public void setItineraries(List<ItineraryResponse> itineraries) {
+        this.itineraries = itineraries;
+    }
+}
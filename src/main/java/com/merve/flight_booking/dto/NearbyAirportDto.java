@@ -0,0 +1,6 @@
+package com.merve.flight_booking.dto;
+
+public record NearbyAirportDto(
+        AirportDto airport,
+        double distanceKm
+) {}
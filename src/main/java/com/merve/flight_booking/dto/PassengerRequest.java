@@ -0,0 +1,61 @@
+package com.merve.flight_booking.dto;
+
+public class PassengerRequest {
+
+    private String firstName;
+    private String lastName;
+
+    // Hepsi opsiyonel; seatNumber verilirse seatOptionId zorunlu
+    private Long seatOptionId;
+    private String seatNumber;
+    private Long mealOptionId;
+    private Long baggageOptionId;
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public Long getSeatOptionId() {
+        return seatOptionId;
+    }
+
+    public void setSeatOptionId(Long seatOptionId) {
+        this.seatOptionId = seatOptionId;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public void setSeatNumber(String seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+
+    public Long getMealOptionId() {
+        return mealOptionId;
+    }
+
+    public void setMealOptionId(Long mealOptionId) {
+        this.mealOptionId = mealOptionId;
+    }
+
+    public Long getBaggageOptionId() {
+        return baggageOptionId;
+    }
+
+    public void setBaggageOptionId(Long baggageOptionId) {
+        this.baggageOptionId = baggageOptionId;
+    }
+}
@@ -0,0 +1,7 @@
+package com.merve.flight_booking.dto;
+
+public record PriceBreakdownItem(
+        String type,        // BASE_FARE, FARE_TYPE, BAGGAGE, MEAL, SEAT
+        String description, // "ECO", "20 kg", "Vegan", "12C WINDOW"
+        double amount
+) {}
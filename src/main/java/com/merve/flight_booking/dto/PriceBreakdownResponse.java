@@ -0,0 +1,10 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public record PriceBreakdownResponse(
+        Long bookingId,
+        String status,
+        List<PriceBreakdownItem> items,
+        double total
+) {}
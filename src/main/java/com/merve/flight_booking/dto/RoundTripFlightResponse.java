@@ -7,6 +7,17 @@ public class RoundTripFlightResponse {
     private List<FlightSearchResponse> outboundFlights;
     private List<FlightSearchResponse> returnFlights;
 
+    // pageSize verildiyse sonraki sayfa için; son sayfada null
+    private String outboundNextCursor;
+    private String returnNextCursor;
+
+    // combinations=K ise en iyi K gidiş+dönüş çifti
+    private List<FlightCombinationResponse> combinations;
+
+    // includeConnections=true ise dolu
+    private List<ItineraryResponse> outboundConnections;
+    private List<ItineraryResponse> returnConnections;
+
     public List<FlightSearchResponse> getOutboundFlights() {
         return outboundFlights;
     }
@@ -22,4 +33,44 @@ public class RoundTripFlightResponse {
     public void setReturnFlights(List<FlightSearchResponse> returnFlights) {
         this.returnFlights = returnFlights;
     }
+
+    public List<ItineraryResponse> getOutboundConnections() {
+        return outboundConnections;
+    }
+
+    public void setOutboundConnections(List<ItineraryResponse> outboundConnections) {
+        this.outboundConnections = outboundConnections;
+    }
+
+    public List<ItineraryResponse> getReturnConnections() {
+        return returnConnections;
+    }
+
+    public void setReturnConnections(List<ItineraryResponse> returnConnections) {
+        this.returnConnections = returnConnections;
+    }
+
+    public String getOutboundNextCursor() {
+        return outboundNextCursor;
+    }
+
+    public void setOutboundNextCursor(String outboundNextCursor) {
+        this.outboundNextCursor = outboundNextCursor;
+    }
+
+    public String getReturnNextCursor() {
+        return returnNextCursor;
+    }
+
+    public void setReturnNextCursor(String returnNextCursor) {
+        this.returnNextCursor = returnNextCursor;
+    }
+
+    public List<FlightCombinationResponse> getCombinations() {
+        return combinations;
+    }
+
+    public void setCombinations(List<FlightCombinationResponse> combinations) {
+        this.combinations = combinations;
+    }
 }
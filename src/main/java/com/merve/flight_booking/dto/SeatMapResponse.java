@@ -0,0 +1,12 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public record SeatMapResponse(
+        Long flightId,
+        String layout,          // "ABC-DEF" ('-' = koridor)
+        int totalSeats,
+        int availableSeats,
+        long version,
+        List<SeatMapRow> rows
+) {}
@@ -0,0 +1,11 @@
+package com.merve.flight_booking.dto;
+
+public record SeatMapSeat(
+        String seatNumber,
+        String letter,
+        String position,        // WINDOW | MIDDLE | AISLE
+        Long seatOptionId,
+        String seatType,
+        Double price,
+        boolean available
+) {}
@@ -0,0 +1,9 @@
+package com.merve.flight_booking.dto;
+
+import java.util.List;
+
+public record SeatRecommendationResponse(
+        List<String> seats,
+        String kind,            // SAME_GROUP | ACROSS_AISLE | NEARBY
+        double score
+) {}
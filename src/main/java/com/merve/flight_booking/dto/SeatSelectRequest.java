@@ -4,6 +4,9 @@ public class SeatSelectRequest {
     private Long optionId;
     private String seatNumber;
 
+    // seatNumber boşsa option tipine uygun en iyi boş koltuğu sistem seçer
+    private boolean autoAssign;
+
     public Long getOptionId() {
         return optionId;
     }
@@ -19,5 +22,12 @@ public class SeatSelectRequest {
     public void setSeatNumber(String seatNumber) {
         this.seatNumber = seatNumber;
     }
-}
 
+    public boolean isAutoAssign() {
+        return autoAssign;
+    }
+
+    public void setAutoAssign(boolean autoAssign) {
+        this.autoAssign = autoAssign;
+    }
+}
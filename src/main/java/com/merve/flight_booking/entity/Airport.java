@@ -3,7 +3,13 @@ package com.merve.flight_booking.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "airports")
+@Table(
+        name = "airports",
+        indexes = {
+                @Index(name = "idx_airports_code", columnList = "code"),
+                @Index(name = "idx_airports_metro_code", columnList = "metro_code")
+        }
+)
 public class Airport {
 
     @Id
@@ -15,11 +21,22 @@ public class Airport {
     private String city;
     private String country;
 
+    // Şehir grubu (ör. IST + SAW -> "ISTANBUL"); tek havalimanlı şehirlerde null
+    @Column(name = "metro_code")
+    private String metroCode;
+
+    // WGS84 derece; bilinmiyorsa null (yakın havalimanı aramasına girmez)
+    private Double latitude;
+    private Double longitude;
+
     public Long getId() { return id; }
     public String getCode() { return code; }
     public String getName() { return name; }
     public String getCity() { return city; }
     public String getCountry() { return country; }
+    public String getMetroCode() { return metroCode; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
 
     public void setId(Long id) {
         this.id = id;
@@ -41,5 +58,17 @@ public class Airport {
         this.country = country;
     }
 
+    public void setMetroCode(String metroCode) {
+        this.metroCode = metroCode;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
 }
 
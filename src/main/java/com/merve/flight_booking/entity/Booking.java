@@ -2,9 +2,17 @@ package com.merve.flight_booking.entity;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "bookings")
+@Table(
+        name = "bookings",
+        indexes = {
+                // "Rezervasyonlarım" keyset sayfalama: user_id = ? order by booking_date desc, id desc
+                @Index(name = "idx_bookings_user_date", columnList = "user_id, booking_date, id")
+        }
+)
 public class Booking {
 
     @Id
@@ -36,15 +44,28 @@ public class Booking {
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     private BookingSeat seat;
 
+    // ---------------- PASSENGERS ----------------
+
+    // Grup booking'lerinde yolcular (her biri kendi koltuk / yemek / bagajıyla); tek yolculu akışta boş
+    @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<Passenger> passengers = new ArrayList<>();
+
     // ---------------- BOOKING INFO ----------------
 
     private double totalPrice;
 
+    // Native enum / check constraint değil düz varchar: yeni durum eklemek (EXPIRED gibi) şema değişikliği gerektirmesin
     @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "varchar(20)")
     private BookingStatus status;
 
     private LocalDateTime bookingDate = LocalDateTime.now();
 
+    // PENDING booking bu andan sonra EXPIRED olur, koltuğu serbest kalır
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     // ---------------- GETTERS / SETTERS ----------------
 
     public Long getId() {
@@ -99,6 +120,15 @@ public class Booking {
         this.seat = seat;
     }
 
+    public List<Passenger> getPassengers() {
+        return passengers;
+    }
+
+    public void addPassenger(Passenger passenger) {
+        passenger.setBooking(this);
+        passengers.add(passenger);
+    }
+
     public double getTotalPrice() {
         return totalPrice;
     }
@@ -118,4 +148,18 @@ public class Booking {
     public LocalDateTime getBookingDate() {
         return bookingDate;
     }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    public boolean isHoldExpired() {
+        return status == BookingStatus.PENDING
+                && holdExpiresAt != null
+                && !holdExpiresAt.isAfter(LocalDateTime.now());
+    }
 }
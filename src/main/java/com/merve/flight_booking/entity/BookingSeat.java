@@ -3,6 +3,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
+// Koltuk tekilliği flight_seat_assignment tablosunda (grup yolcularıyla ortak)
 @Table(name = "booking_seat")
 public class BookingSeat {
 
@@ -15,6 +16,12 @@ public class BookingSeat {
     @JsonIgnore
     private Booking booking;
 
+    // booking.flight'ın kopyası (eski satırlar açılışta SeatBackfill ile doldurulur)
+    @ManyToOne
+    @JoinColumn(name = "flight_id", nullable = false)
+    @JsonIgnore
+    private Flight flight;
+
     public Long getId() {
         return id;
     }
@@ -31,6 +38,14 @@ public class BookingSeat {
         this.booking = booking;
     }
 
+    public Flight getFlight() {
+        return flight;
+    }
+
+    public void setFlight(Flight flight) {
+        this.flight = flight;
+    }
+
     public SeatOption getSeatOption() {
         return seatOption;
     }
@@ -59,6 +74,7 @@ public class BookingSeat {
     @JoinColumn(name = "seat_option_id", nullable = false)
     private SeatOption seatOption;
 
+    @Column(name = "seat_number")
     private String seatNumber;
     private double price;
 }
@@ -3,5 +3,6 @@ package com.merve.flight_booking.entity;
 public enum BookingStatus {
     PENDING,
     CONFIRMED,
-    CANCELLED
+    CANCELLED,
+    EXPIRED // ödeme süresi dolan PENDING booking
 }
@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "flights")
+@Table(
+        name = "flights",
+        indexes = {
+                @Index(name = "idx_flights_route_departure",
+                        columnList = "departure_airport_id, arrival_airport_id, departure_time")
+        }
+)
 public class Flight {
 
     @Id
@@ -30,6 +36,13 @@ public class Flight {
 
     private double basePrice;
 
+    // Kabin düzeni; null ise varsayılan (30 sıra, "ABC-DEF")
+    @Column(name = "cabin_rows")
+    private Integer cabinRows;
+
+    @Column(name = "seat_layout")
+    private String seatLayout;
+
     // ===== GETTERS =====
 
     public Long getId() {
@@ -64,6 +77,14 @@ public class Flight {
         return basePrice;
     }
 
+    public Integer getCabinRows() {
+        return cabinRows;
+    }
+
+    public String getSeatLayout() {
+        return seatLayout;
+    }
+
     // ===== SETTERS =====
 
     public void setId(Long id) {
@@ -97,4 +118,12 @@ public class Flight {
     public void setBasePrice(double basePrice) {
         this.basePrice = basePrice;
     }
+
+    public void setCabinRows(Integer cabinRows) {
+        this.cabinRows = cabinRows;
+    }
+
+    public void setSeatLayout(String seatLayout) {
+        this.seatLayout = seatLayout;
+    }
 }
@@ -0,0 +1,72 @@
+package com.merve.flight_booking.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Uçuşta satılmış bir koltuk: tek yolculu booking koltuğu (BookingSeat) ve grup yolcusu (Passenger) aynı tabloya yazılır.
+ * - Koltuk tekilliği yalnızca burada: (flight_id, seat_number) unique
+ * - İptal / hold süresi dolduğunda / koltuk değiştiğinde satır silinir
+ * - Id pooled sequence'tan: grup booking'inde N satır tek batch insert
+ */
+@Entity
+@Table(
+        name = "flight_seat_assignment",
+        uniqueConstraints = {
+                @UniqueConstraint(name = FlightSeatAssignment.SEAT_CONSTRAINT, columnNames = {"flight_id", "seat_number"})
+        },
+        indexes = {
+                @Index(name = "idx_flight_seat_assignment_booking", columnList = "booking_id")
+        }
+)
+public class FlightSeatAssignment {
+
+    public static final String SEAT_CONSTRAINT = "uk_flight_seat_assignment";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_assignment_seq")
+    @SequenceGenerator(name = "seat_assignment_seq", sequenceName = "seat_assignment_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "flight_id", nullable = false)
+    private Flight flight;
+
+    @Column(name = "seat_number", nullable = false)
+    private String seatNumber;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    private Booking booking;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Flight getFlight() {
+        return flight;
+    }
+
+    public void setFlight(Flight flight) {
+        this.flight = flight;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public void setSeatNumber(String seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+}
@@ -0,0 +1,155 @@
+package com.merve.flight_booking.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+/**
+ * Grup booking'inde bir yolcu; koltuk / yemek / bagaj seçimi yolcu satırında tutulur
+ * (yolcu başına ayrı ek hizmet tablosu yok -> grup oluşturma tek batch insert).
+ * Id pooled sequence'tan: IDENTITY'de Hibernate insert'leri batch'leyemez.
+ */
+@Entity
+// Koltuk tekilliği flight_seat_assignment tablosunda (tek yolculu booking koltuklarıyla ortak)
+@Table(name = "booking_passengers")
+public class Passenger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passenger_seq")
+    @SequenceGenerator(name = "passenger_seq", sequenceName = "passenger_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    @JsonIgnore
+    private Booking booking;
+
+    // booking.flight'ın kopyası
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "flight_id", nullable = false)
+    @JsonIgnore
+    private Flight flight;
+
+    private String firstName;
+    private String lastName;
+
+    // ---------------- ANCILLARIES ----------------
+
+    @ManyToOne
+    @JoinColumn(name = "seat_option_id")
+    private SeatOption seatOption;
+
+    @Column(name = "seat_number")
+    private String seatNumber;
+
+    private double seatPrice;
+
+    @ManyToOne
+    @JoinColumn(name = "meal_option_id")
+    private MealOption mealOption;
+
+    private double mealPrice;
+
+    @ManyToOne
+    @JoinColumn(name = "baggage_option_id")
+    private BaggageOption baggageOption;
+
+    private double baggagePrice;
+
+    // ---------------- GETTERS / SETTERS ----------------
+
+    public Long getId() {
+        return id;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    public Flight getFlight() {
+        return flight;
+    }
+
+    public void setFlight(Flight flight) {
+        this.flight = flight;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public SeatOption getSeatOption() {
+        return seatOption;
+    }
+
+    public void setSeatOption(SeatOption seatOption) {
+        this.seatOption = seatOption;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public void setSeatNumber(String seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+
+    public double getSeatPrice() {
+        return seatPrice;
+    }
+
+    public void setSeatPrice(double seatPrice) {
+        this.seatPrice = seatPrice;
+    }
+
+    public MealOption getMealOption() {
+        return mealOption;
+    }
+
+    public void setMealOption(MealOption mealOption) {
+        this.mealOption = mealOption;
+    }
+
+    public double getMealPrice() {
+        return mealPrice;
+    }
+
+    public void setMealPrice(double mealPrice) {
+        this.mealPrice = mealPrice;
+    }
+
+    public BaggageOption getBaggageOption() {
+        return baggageOption;
+    }
+
+    public void setBaggageOption(BaggageOption baggageOption) {
+        this.baggageOption = baggageOption;
+    }
+
+    public double getBaggagePrice() {
+        return baggagePrice;
+    }
+
+    public void setBaggagePrice(double baggagePrice) {
+        this.baggagePrice = baggagePrice;
+    }
+
+    public String getFullName() {
+        return (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName);
+    }
+}
@@ -0,0 +1,7 @@
+package com.merve.flight_booking.event;
+
+/**
+ * AirportCatalog yeni bir snapshot'a geçtiğinde yayınlanır;
+ * havalimanı verisinden türeyen indeksler kendilerini yeniden kurar.
+ */
+public record AirportCatalogRefreshedEvent() {}
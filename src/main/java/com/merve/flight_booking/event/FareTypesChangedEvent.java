@@ -0,0 +1,7 @@
+package com.merve.flight_booking.event;
+
+/**
+ * airline_fare_types değiştiğinde (import ya da admin yenilemesi) yayınlanır;
+ * en ucuz fare type cache'i ve ondan türeyen fiyat takvimi yeniden kurulur.
+ */
+public record FareTypesChangedEvent() {}
@@ -0,0 +1,10 @@
+package com.merve.flight_booking.event;
+
+import com.merve.flight_booking.dto.FlightView;
+
+/**
+ * Admin tarafında bir uçuş eklendiğinde / silindiğinde yayınlanır.
+ * - create: previous = null
+ * - delete: current = null
+ */
+public record FlightChangedEvent(FlightView previous, FlightView current) {}
@@ -2,7 +2,10 @@ package com.merve.flight_booking.repository;
 
 import com.merve.flight_booking.entity.AirlineFareType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface AirlineFareTypeRepository
@@ -10,5 +13,23 @@ public interface AirlineFareTypeRepository
 
     List<AirlineFareType> findByAirline_Id(Long airlineId);
 
+    // Birden fazla havayolu için tek sorgu (airline + fareType birlikte)
+    @Query("""
+        SELECT af
+        FROM AirlineFareType af
+        JOIN FETCH af.airline
+        JOIN FETCH af.fareType
+        WHERE af.airline.id IN :airlineIds
+    """)
+    List<AirlineFareType> findByAirlineIdIn(@Param("airlineIds") Collection<Long> airlineIds);
+
+    @Query("""
+        SELECT af
+        FROM AirlineFareType af
+        JOIN FETCH af.airline
+        JOIN FETCH af.fareType
+    """)
+    List<AirlineFareType> findAllWithFareType();
+
     boolean existsByAirline_IdAndFareType_Id(Long airlineId, Long fareTypeId);
 }
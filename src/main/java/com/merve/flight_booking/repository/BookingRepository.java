@@ -1,9 +1,17 @@
 package com.merve.flight_booking.repository;
 
+import com.merve.flight_booking.dto.BookingSummary;
 import com.merve.flight_booking.entity.Booking;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
@@ -15,4 +23,117 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     boolean existsByFlight_Id(Long flightId);
 
+    // Özet liste: entity yüklenmez, tüm alanlar tek sorguda (keyset: booking_date desc, id desc)
+    String SUMMARY_SELECT = """
+        select new com.merve.flight_booking.dto.BookingSummary(
+            b.id, b.status, b.totalPrice, b.bookingDate, b.holdExpiresAt,
+            f.id, f.flightNumber, al.code, al.name, da.code, aa.code, f.departureTime, f.arrivalTime,
+            ft.name, s.seatNumber, size(b.passengers)
+        )
+        from Booking b
+        join b.user u
+        join b.flight f
+        left join f.airline al
+        left join f.departureAirport da
+        left join f.arrivalAirport aa
+        join b.airlineFareType aft
+        join aft.fareType ft
+        left join b.seat s
+        where u.email = :email
+    """;
+
+    @Query(SUMMARY_SELECT + " order by b.bookingDate desc, b.id desc")
+    List<BookingSummary> findSummaries(@Param("email") String email, Limit limit);
+
+    // booking_date null olan (eski) satırlar desc sıralamada en sonda gelir; tarihli cursor'dan sonra onlar da okunur
+    @Query(SUMMARY_SELECT + """
+          and (b.bookingDate < :beforeDate or (b.bookingDate = :beforeDate and b.id < :beforeId)
+               or b.bookingDate is null)
+        order by b.bookingDate desc, b.id desc
+    """)
+    List<BookingSummary> findSummariesBefore(
+            @Param("email") String email,
+            @Param("beforeDate") LocalDateTime beforeDate,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    // Cursor tarihsiz satırda kaldıysa: yalnızca kalan tarihsiz satırlar
+    @Query(SUMMARY_SELECT + """
+          and b.bookingDate is null and b.id < :beforeId
+        order by b.id desc
+    """)
+    List<BookingSummary> findUndatedSummariesBefore(
+            @Param("email") String email,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    // Fiyatlandırma için tüm aggregate tek sorguda (yolcular dışında hepsi to-one: satır sayısı = yolcu sayısı)
+    @Query("""
+        select b from Booking b
+        join fetch b.user
+        join fetch b.flight f
+        left join fetch f.airline
+        left join fetch f.departureAirport
+        left join fetch f.arrivalAirport
+        join fetch b.airlineFareType aft
+        join fetch aft.airline
+        join fetch aft.fareType
+        left join fetch b.baggage bg
+        left join fetch bg.baggageOption
+        left join fetch b.meal m
+        left join fetch m.mealOption
+        left join fetch b.seat s
+        left join fetch s.seatOption
+        left join fetch b.passengers p
+        left join fetch p.seatOption
+        left join fetch p.mealOption
+        left join fetch p.baggageOption
+        where b.id = :id
+    """)
+    Optional<Booking> findPricingAggregate(@Param("id") Long id);
+
+    // Süreli PENDING booking'ler (açılışta zamanlayıcıyı yeniden kurmak için)
+    interface PendingHold {
+        Long getId();
+        LocalDateTime getHoldExpiresAt();
+    }
+
+    @Query("""
+        select b.id as id, b.holdExpiresAt as holdExpiresAt from Booking b
+        where b.status = com.merve.flight_booking.entity.BookingStatus.PENDING
+          and b.holdExpiresAt is not null
+    """)
+    List<PendingHold> findPendingHolds();
+
+    // Süresi tanımsız eski PENDING kayıtlara süre ver
+    @Modifying
+    @Query("""
+        update Booking b set b.holdExpiresAt = :expiresAt
+        where b.status = com.merve.flight_booking.entity.BookingStatus.PENDING
+          and b.holdExpiresAt is null
+    """)
+    int backfillHoldExpiry(@Param("expiresAt") LocalDateTime expiresAt);
+
+    // Yalnızca hâlâ PENDING ve süresi dolmuş olanlar (arada ödenen / iptal edilenlere dokunulmaz)
+    @Modifying
+    @Query("""
+        update Booking b set b.status = com.merve.flight_booking.entity.BookingStatus.EXPIRED
+        where b.id in :ids
+          and b.status = com.merve.flight_booking.entity.BookingStatus.PENDING
+          and b.holdExpiresAt <= :now
+    """)
+    int expireHolds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Ödeme: yalnızca hâlâ PENDING ve süresi dolmamışsa CONFIRMED (expireHolds ile aynı satır kilidinde sıralanır)
+    @Modifying
+    @Query("""
+        update Booking b set b.status = com.merve.flight_booking.entity.BookingStatus.CONFIRMED
+        where b.id = :id
+          and b.status = com.merve.flight_booking.entity.BookingStatus.PENDING
+          and (b.holdExpiresAt is null or b.holdExpiresAt > :now)
+    """)
+    int confirmIfHeld(@Param("id") Long id, @Param("now") LocalDateTime now);
+
 }
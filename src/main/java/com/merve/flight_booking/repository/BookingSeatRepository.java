@@ -2,11 +2,34 @@ package com.merve.flight_booking.repository;
 
 import com.merve.flight_booking.entity.BookingSeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface BookingSeatRepository
         extends JpaRepository<BookingSeat, Long> {
 
     Optional<BookingSeat> findByBookingId(Long bookingId);
+
+    @Modifying
+    @Query("update BookingSeat bs set bs.seatNumber = null where bs.booking.id in :bookingIds")
+    int clearSeatNumbers(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("update BookingSeat bs set bs.seatNumber = null where bs.booking.id = :bookingId and bs.seatNumber = :seatNumber")
+    int clearSeatNumber(@Param("bookingId") Long bookingId, @Param("seatNumber") String seatNumber);
+
+    // flight_id kolonundan önce oluşmuş satırlar: booking'in uçuşu kopyalanır
+    @Modifying
+    @Query("""
+        update BookingSeat bs
+        set bs.flight = (select b.flight from Booking b where b = bs.booking)
+        where bs.flight is null
+    """)
+    int backfillFlight();
+
+    long countByFlightIsNull();
 }
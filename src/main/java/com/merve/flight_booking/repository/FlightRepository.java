@@ -1,25 +1,38 @@
 package com.merve.flight_booking.repository;
 
+import com.merve.flight_booking.dto.FlightView;
 import com.merve.flight_booking.entity.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface FlightRepository extends JpaRepository<Flight, Long> {
 
+    // Arama read modeli: entity hydrate etmeden doğrudan FlightView'a projeksiyon
     @Query("""
-        SELECT f
+        SELECT new com.merve.flight_booking.dto.FlightView(
+            f.id, f.flightNumber,
+            al.id, al.code, al.name,
+            dep.id, dep.code,
+            arr.id, arr.code,
+            f.departureTime, f.arrivalTime, f.basePrice
+        )
         FROM Flight f
-        WHERE f.departureAirport.code = :from
-          AND f.arrivalAirport.code = :to
+        LEFT JOIN f.airline al
+        JOIN f.departureAirport dep
+        JOIN f.arrivalAirport arr
+        WHERE dep.code = :from
+          AND arr.code = :to
           AND f.departureTime >= :start
           AND f.departureTime < :end
+        ORDER BY f.departureTime
     """)
-    List<Flight> searchFlights(
+    List<FlightView> searchFlights(
             @Param("from") String from,
             @Param("to") String to,
             @Param("start") LocalDateTime start,
@@ -27,12 +40,88 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     );
 
 
-    @Query("select distinct f.departureAirport.id from Flight f where f.departureAirport is not null")
-    List<Long> findDistinctDepartureAirportIds();
+    // Metro (çok havalimanlı) arama: tüm üye havalimanları tek sorguda (IN-list)
+    @Query("""
+        SELECT new com.merve.flight_booking.dto.FlightView(
+            f.id, f.flightNumber,
+            al.id, al.code, al.name,
+            dep.id, dep.code,
+            arr.id, arr.code,
+            f.departureTime, f.arrivalTime, f.basePrice
+        )
+        FROM Flight f
+        LEFT JOIN f.airline al
+        JOIN f.departureAirport dep
+        JOIN f.arrivalAirport arr
+        WHERE dep.id IN :fromIds
+          AND arr.id IN :toIds
+          AND f.departureTime >= :start
+          AND f.departureTime < :end
+        ORDER BY f.departureTime, f.id
+    """)
+    List<FlightView> searchFlightsBetween(
+            @Param("fromIds") Collection<Long> fromIds,
+            @Param("toIds") Collection<Long> toIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("""
+        SELECT new com.merve.flight_booking.dto.FlightView(
+            f.id, f.flightNumber,
+            al.id, al.code, al.name,
+            dep.id, dep.code,
+            arr.id, arr.code,
+            f.departureTime, f.arrivalTime, f.basePrice
+        )
+        FROM Flight f
+        LEFT JOIN f.airline al
+        JOIN f.departureAirport dep
+        JOIN f.arrivalAirport arr
+        WHERE f.departureTime IS NOT NULL
+    """)
+    List<FlightView> findAllViews();
 
+    @Query("""
+        SELECT new com.merve.flight_booking.dto.FlightView(
+            f.id, f.flightNumber,
+            al.id, al.code, al.name,
+            dep.id, dep.code,
+            arr.id, arr.code,
+            f.departureTime, f.arrivalTime, f.basePrice
+        )
+        FROM Flight f
+        LEFT JOIN f.airline al
+        JOIN f.departureAirport dep
+        JOIN f.arrivalAirport arr
+        WHERE f.id = :id
+    """)
+    Optional<FlightView> findViewById(@Param("id") Long id);
+
+    @Query("""
+        SELECT new com.merve.flight_booking.dto.FlightView(
+            f.id, f.flightNumber,
+            al.id, al.code, al.name,
+            dep.id, dep.code,
+            arr.id, arr.code,
+            f.departureTime, f.arrivalTime, f.basePrice
+        )
+        FROM Flight f
+        LEFT JOIN f.airline al
+        JOIN f.departureAirport dep
+        JOIN f.arrivalAirport arr
+        WHERE f.id IN :ids
+    """)
+    List<FlightView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Rotadaki en geç kalkış (RouteAdjacency, indeks hazır değilken); rota boşsa null
+    @Query("""
+        SELECT max(f.departureTime)
+        FROM Flight f
+        WHERE f.departureAirport.id = :fromId AND f.arrivalAirport.id = :toId
+    """)
+    LocalDateTime findLatestDeparture(@Param("fromId") Long fromId, @Param("toId") Long toId);
 
-    @Query("select distinct f.arrivalAirport.id from Flight f where f.departureAirport.id = :fromId and f.arrivalAirport is not null")
-    List<Long> findDistinctArrivalAirportIdsByDeparture(@Param("fromId") Long fromId);
 
     Optional<Flight> findByFlightNumber(String flightNumber);
     boolean existsByFlightNumber(String flightNumber);
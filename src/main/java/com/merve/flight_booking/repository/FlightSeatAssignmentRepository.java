@@ -0,0 +1,69 @@
+package com.merve.flight_booking.repository;
+
+import com.merve.flight_booking.entity.FlightSeatAssignment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface FlightSeatAssignmentRepository extends JpaRepository<FlightSeatAssignment, Long> {
+
+    interface HeldSeat {
+        Long getBookingId();
+        Long getFlightId();
+        String getSeatNumber();
+    }
+
+    // Uçuşta dolu koltuklar (iptal / süre dolumu satırı sildiği için durum filtresi gerekmez)
+    @Query("select a.seatNumber from FlightSeatAssignment a where a.flight.id = :flightId")
+    List<String> findSeatNumbers(@Param("flightId") Long flightId);
+
+    @Query("""
+        select a.booking.id as bookingId, a.flight.id as flightId, a.seatNumber as seatNumber
+        from FlightSeatAssignment a
+        where a.booking.id in :bookingIds
+          and a.booking.status = com.merve.flight_booking.entity.BookingStatus.EXPIRED
+    """)
+    List<HeldSeat> findExpiredSeats(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Koltuk değişimi: booking'in eski koltuğu
+    @Modifying
+    @Query("delete from FlightSeatAssignment a where a.booking.id = :bookingId and a.seatNumber = :seatNumber")
+    int deleteSeat(@Param("bookingId") Long bookingId, @Param("seatNumber") String seatNumber);
+
+    @Modifying
+    @Query("delete from FlightSeatAssignment a where a.booking.id in :bookingIds")
+    int deleteByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Tablo öncesi satılmış koltuklar (SeatBackfill): aktif booking'lerde olup burada olmayanlar
+    @Query("""
+        select bs.booking.id as bookingId, bs.booking.flight.id as flightId, bs.seatNumber as seatNumber
+        from BookingSeat bs
+        where bs.seatNumber is not null
+          and bs.booking.status <> com.merve.flight_booking.entity.BookingStatus.CANCELLED
+          and bs.booking.status <> com.merve.flight_booking.entity.BookingStatus.EXPIRED
+          and not exists (
+              select 1 from FlightSeatAssignment a
+              where a.flight.id = bs.booking.flight.id and a.seatNumber = bs.seatNumber
+          )
+        order by bs.id
+    """)
+    List<HeldSeat> findUnassignedBookingSeats();
+
+    @Query("""
+        select p.booking.id as bookingId, p.booking.flight.id as flightId, p.seatNumber as seatNumber
+        from Passenger p
+        where p.seatNumber is not null
+          and p.booking.status <> com.merve.flight_booking.entity.BookingStatus.CANCELLED
+          and p.booking.status <> com.merve.flight_booking.entity.BookingStatus.EXPIRED
+          and not exists (
+              select 1 from FlightSeatAssignment a
+              where a.flight.id = p.booking.flight.id and a.seatNumber = p.seatNumber
+          )
+        order by p.id
+    """)
+    List<HeldSeat> findUnassignedPassengerSeats();
+}
@@ -0,0 +1,20 @@
+package com.merve.flight_booking.repository;
+
+import com.merve.flight_booking.entity.Passenger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface PassengerRepository extends JpaRepository<Passenger, Long> {
+
+    @Modifying
+    @Query("update Passenger p set p.seatNumber = null where p.booking.id in :bookingIds")
+    int clearSeatNumbers(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Modifying
+    @Query("update Passenger p set p.seatNumber = null where p.booking.id = :bookingId and p.seatNumber = :seatNumber")
+    int clearSeatNumber(@Param("bookingId") Long bookingId, @Param("seatNumber") String seatNumber);
+}
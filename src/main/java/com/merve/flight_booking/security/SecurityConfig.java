@@ -81,7 +81,8 @@ public class SecurityConfig {
                 "Content-Type",
                 "Accept",
                 "Origin",
-                "X-Requested-With"
+                "X-Requested-With",
+                "Idempotency-Key"
         ));
 
         // İstersen response header’larını da expose edebilirsin
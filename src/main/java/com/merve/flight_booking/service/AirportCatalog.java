@@ -0,0 +1,119 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.AirportDto;
+import com.merve.flight_booking.entity.Airport;
+import com.merve.flight_booking.event.AirportCatalogRefreshedEvent;
+import com.merve.flight_booking.repository.AirportRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Havalimanı referans verisinin bellek içi, değişmez snapshot'ı.
+ * - id / IATA kodu / metro kodu ile O(1) erişim
+ * - reload() yeni snapshot'ı kurup tek atamada değiştirir, okuyanlar hiç beklemez
+ */
+@Component
+public class AirportCatalog {
+
+    public record Snapshot(
+            List<AirportDto> airports,
+            Map<Long, AirportDto> byId,
+            Map<String, AirportDto> byCode,
+            Map<String, List<AirportDto>> byMetro
+    ) {}
+
+    private final AirportRepository airportRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot;
+
+    public AirportCatalog(AirportRepository airportRepository, ApplicationEventPublisher eventPublisher) {
+        this.airportRepository = airportRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    public void reload() {
+        synchronized (this) {
+            snapshot = build(airportRepository.findAll());
+        }
+        eventPublisher.publishEvent(new AirportCatalogRefreshedEvent());
+    }
+
+    // İlk erişim startup'tan önce gelirse senkron yükle
+    public Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+
+        synchronized (this) {
+            if (snapshot == null) snapshot = build(airportRepository.findAll());
+            return snapshot;
+        }
+    }
+
+    public AirportDto findById(Long id) {
+        return id == null ? null : snapshot().byId().get(id);
+    }
+
+    public AirportDto findByCode(String code) {
+        return code == null ? null : snapshot().byCode().get(normalize(code));
+    }
+
+    /**
+     * Arama kodunu havalimanlarına çözer:
+     * - IATA kodu ise o havalimanı
+     * - metro kodu ise gruptaki tüm havalimanları
+     * - bilinmiyorsa boş liste
+     */
+    public List<AirportDto> resolve(String code) {
+        if (code == null) return List.of();
+        String key = normalize(code);
+
+        Snapshot s = snapshot();
+        AirportDto airport = s.byCode().get(key);
+        if (airport != null) return List.of(airport);
+
+        return s.byMetro().getOrDefault(key, List.of());
+    }
+
+    private static Snapshot build(List<Airport> airports) {
+        List<AirportDto> all = new ArrayList<>();
+        Map<Long, AirportDto> byId = new HashMap<>();
+        Map<String, AirportDto> byCode = new HashMap<>();
+        Map<String, List<AirportDto>> byMetro = new HashMap<>();
+
+        for (Airport a : airports) {
+            AirportDto dto = new AirportDto(
+                    a.getId(), a.getCity(), a.getCode(), a.getCountry(), a.getName(), a.getMetroCode(),
+                    a.getLatitude(), a.getLongitude()
+            );
+            all.add(dto);
+            byId.put(dto.id(), dto);
+            if (dto.code() != null) byCode.put(normalize(dto.code()), dto);
+            if (dto.metroCode() != null && !dto.metroCode().isBlank()) {
+                byMetro.computeIfAbsent(normalize(dto.metroCode()), k -> new ArrayList<>()).add(dto);
+            }
+        }
+
+        Map<String, List<AirportDto>> metro = new HashMap<>();
+        byMetro.forEach((k, v) -> metro.put(k, List.copyOf(v)));
+
+        return new Snapshot(List.copyOf(all), Map.copyOf(byId), Map.copyOf(byCode), Map.copyOf(metro));
+    }
+
+    static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,167 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.AirportDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Yazım hatasına toleranslı havalimanı eşleştirme ("istambul", "ankra").
+ * - Tüm kelimeler (code/city/name/country) için trigram -> kelime inverted index
+ * - Yeterli trigram paylaşan adaylar sınırlı edit distance (prefix Levenshtein) ile doğrulanır
+ * - Sorgu başına CPU bütçesi aşılırsa o ana kadar bulunanlar döner
+ * Değişmez; AirportSearchIndex snapshot'ı ile birlikte kurulur.
+ */
+final class AirportFuzzyMatcher {
+
+    record Match(int owner, int distance, int field) {}
+
+    // kelime -> hangi havalimanlarında / hangi alanda geçtiği
+    private final String[] terms;
+    private final int[][] termOwners;
+    private final byte[][] termFields;
+    private final Map<String, int[]> postings;
+
+    private AirportFuzzyMatcher(String[] terms, int[][] termOwners, byte[][] termFields, Map<String, int[]> postings) {
+        this.terms = terms;
+        this.termOwners = termOwners;
+        this.termFields = termFields;
+        this.postings = postings;
+    }
+
+    static AirportFuzzyMatcher build(AirportDto[] airports, int codeField, int cityField, int nameField, int countryField) {
+        Map<String, Map<Integer, Byte>> owners = new LinkedHashMap<>();
+
+        for (int i = 0; i < airports.length; i++) {
+            AirportDto a = airports[i];
+            addWords(owners, a.code(), i, codeField);
+            addWords(owners, a.city(), i, cityField);
+            addWords(owners, a.name(), i, nameField);
+            addWords(owners, a.country(), i, countryField);
+        }
+
+        String[] terms = owners.keySet().toArray(new String[0]);
+        int[][] termOwners = new int[terms.length][];
+        byte[][] termFields = new byte[terms.length][];
+        Map<String, List<Integer>> grams = new HashMap<>();
+
+        for (int t = 0; t < terms.length; t++) {
+            Map<Integer, Byte> o = owners.get(terms[t]);
+            termOwners[t] = new int[o.size()];
+            termFields[t] = new byte[o.size()];
+            int k = 0;
+            for (Map.Entry<Integer, Byte> e : o.entrySet()) {
+                termOwners[t][k] = e.getKey();
+                termFields[t][k] = e.getValue();
+                k++;
+            }
+            for (String g : trigrams(terms[t])) {
+                List<Integer> list = grams.computeIfAbsent(g, x -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != t) list.add(t);
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>();
+        grams.forEach((g, list) -> postings.put(g, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new AirportFuzzyMatcher(terms, termOwners, termFields, postings);
+    }
+
+    /**
+     * query: normalize edilmiş sorgu. En uzun kelimesi aday kelimelerin prefix'ine karşı ölçülür.
+     */
+    List<Match> match(String query, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+
+        String word = longestWord(query);
+        if (word.length() < 3) return List.of();
+
+        int maxDistance = word.length() <= 5 ? 1 : 2;
+        List<String> queryGrams = trigrams(word);
+        int threshold = Math.max(1, queryGrams.size() - 3 * maxDistance - 1);
+
+        // trigram sayacı: term -> ortak gram sayısı
+        // Bütçe her adımda sayılır, saat 64 adımda bir okunur; sayım yarıda kalırsa sonuç güvenilmez -> boş
+        int steps = 0;
+        int[] shared = new int[terms.length];
+        for (String g : queryGrams) {
+            int[] list = postings.get(g);
+            if (list == null) continue;
+            for (int t : list) {
+                if ((++steps & 63) == 0 && System.nanoTime() > deadline) return List.of();
+                shared[t]++;
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int t = 0; t < terms.length; t++) {
+            if ((++steps & 63) == 0 && System.nanoTime() > deadline) break;
+            if (shared[t] < threshold) continue;
+
+            int d = prefixDistance(word, terms[t], maxDistance);
+            if (d > maxDistance) continue;
+
+            for (int k = 0; k < termOwners[t].length; k++) {
+                matches.add(new Match(termOwners[t][k], d, termFields[t][k]));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * query ile term'in herhangi bir prefix'i arasındaki en küçük edit distance.
+     * Satır minimumu limit'i aşınca erken çıkar.
+     */
+    static int prefixDistance(String query, String term, int limit) {
+        int m = query.length();
+        int n = Math.min(term.length(), m + limit);
+
+        int[] prev = new int[n + 1];
+        int[] cur = new int[n + 1];
+        for (int j = 0; j <= n; j++) prev[j] = j;
+
+        for (int i = 1; i <= m; i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= n; j++) {
+                int cost = query.charAt(i - 1) == term.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > limit) return limit + 1;
+
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int j = Math.max(0, m - limit); j <= n; j++) best = Math.min(best, prev[j]);
+        return best;
+    }
+
+    private static void addWords(Map<String, Map<Integer, Byte>> owners, String text, int owner, int field) {
+        for (String w : AirportSearchIndex.normalize(text).split(" ")) {
+            if (w.isEmpty()) continue;
+            owners.computeIfAbsent(w, x -> new LinkedHashMap<>())
+                    .merge(owner, (byte) field, (a, b) -> (byte) Math.min(a, b));
+        }
+    }
+
+    // "ankara" -> "$$a", "$an", "ank", "nka", "kar", "ara", "ra$"
+    private static List<String> trigrams(String word) {
+        String padded = "$$" + word + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) grams.add(padded.substring(i, i + 3));
+        return grams;
+    }
+
+    private static String longestWord(String query) {
+        return Arrays.stream(query.split(" "))
+                .reduce("", (a, b) -> b.length() > a.length() ? b : a);
+    }
+}
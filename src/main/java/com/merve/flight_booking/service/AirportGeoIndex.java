@@ -0,0 +1,120 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.AirportDto;
+import com.merve.flight_booking.dto.NearbyAirportDto;
+import com.merve.flight_booking.event.AirportCatalogRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Havalimanları için bellek içi coğrafi grid (1° x 1° hücreler).
+ * - Yarıçap sorgusu sadece kesişen hücrelere bakar; haversine yalnızca bu adaylar için hesaplanır
+ * - AirportCatalog yenilendiğinde yeniden kurulur; koordinatı olmayan havalimanları dışarıda kalır
+ */
+@Component
+public class AirportGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.195;
+    private static final int LON_CELLS = 360;
+
+    // hücre anahtarı -> o hücredeki havalimanları
+    private record Grid(Map<Integer, AirportDto[]> cells) {}
+
+    private final AirportCatalog airportCatalog;
+
+    private volatile Grid grid;
+
+    public AirportGeoIndex(AirportCatalog airportCatalog) {
+        this.airportCatalog = airportCatalog;
+    }
+
+    @EventListener(AirportCatalogRefreshedEvent.class)
+    public void rebuild() {
+        grid = build(airportCatalog.snapshot().airports());
+    }
+
+    /**
+     * (lat, lon) noktasına radiusKm içindeki havalimanları, mesafeye göre artan.
+     */
+    public List<NearbyAirportDto> nearby(double lat, double lon, double radiusKm) {
+        Grid g = grid;
+        if (g == null) {
+            rebuild();
+            g = grid;
+        }
+
+        double latSpan = radiusKm / KM_PER_DEGREE_LAT;
+        int minLat = latCell(Math.max(-90, lat - latSpan));
+        int maxLat = latCell(Math.min(90, lat + latSpan));
+
+        // Kutuplara yakın ya da çok büyük yarıçapta tüm boylamlar taranır
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.9, Math.abs(lat) + latSpan)));
+        double lonSpan = radiusKm / (KM_PER_DEGREE_LAT * cosLat);
+        int fromLon = (int) Math.floor(lon - lonSpan);
+        int toLon = (int) Math.floor(lon + lonSpan);
+        if (lonSpan >= 180 || toLon - fromLon + 1 >= LON_CELLS) {
+            fromLon = 0;
+            toLon = LON_CELLS - 1;
+        }
+
+        List<NearbyAirportDto> result = new ArrayList<>();
+        for (int la = minLat; la <= maxLat; la++) {
+            for (int lo = fromLon; lo <= toLon; lo++) {
+                AirportDto[] cell = g.cells().get(key(la, lonCell(lo)));
+                if (cell == null) continue;
+
+                for (AirportDto a : cell) {
+                    double d = distanceKm(lat, lon, a.latitude(), a.longitude());
+                    if (d <= radiusKm) result.add(new NearbyAirportDto(a, d));
+                }
+            }
+        }
+
+        result.sort(Comparator.comparingDouble(NearbyAirportDto::distanceKm));
+        return result;
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static Grid build(List<AirportDto> airports) {
+        Map<Integer, List<AirportDto>> cells = new HashMap<>();
+
+        for (AirportDto a : airports) {
+            if (a.latitude() == null || a.longitude() == null) continue;
+            int k = key(latCell(a.latitude()), lonCell((int) Math.floor(a.longitude())));
+            cells.computeIfAbsent(k, x -> new ArrayList<>()).add(a);
+        }
+
+        Map<Integer, AirportDto[]> frozen = new HashMap<>();
+        cells.forEach((k, list) -> frozen.put(k, list.toArray(new AirportDto[0])));
+        return new Grid(frozen);
+    }
+
+    // 90° enlem son hücreye (179) düşer
+    private static int latCell(double lat) {
+        return Math.min(179, (int) Math.floor(lat + 90));
+    }
+
+    // -180..180 dışına taşan (antimeridyen) boylamlar sarmalanır
+    private static int lonCell(int lonDegree) {
+        return Math.floorMod(lonDegree + 180, LON_CELLS);
+    }
+
+    private static int key(int latCell, int lonCell) {
+        return latCell * LON_CELLS + lonCell;
+    }
+}
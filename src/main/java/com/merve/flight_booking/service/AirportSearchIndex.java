@@ -0,0 +1,212 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.AirportDto;
+import com.merve.flight_booking.event.AirportCatalogRefreshedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Havalimanı autocomplete indeksi (DB'ye hiç gitmez).
+ * - code, city, name, country alanları normalize edilip (küçük harf, aksan/Türkçe karakter katlama)
+ *   sıralı bir diziye yazılır; her kelime başı da ayrı anahtar olarak eklenir
+ * - Prefix araması = binary search + ardışık tarama
+ * - Sıralama: tam IATA kodu > şehir prefix > isim prefix > kod prefix > ülke prefix,
+ *   aynı seviyede kalkışı olan havalimanları önce
+ * - Prefix sonucu az ise trigram tabanlı fuzzy eşleşmelerle tamamlanır
+ */
+@Component
+public class AirportSearchIndex {
+
+    private static final int CODE_EXACT = 0;
+    private static final int CITY = 1;
+    private static final int NAME = 2;
+    private static final int CODE_PREFIX = 3;
+    private static final int COUNTRY = 4;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // keys[i] -> airports[owner[i]], alan = field[i], kelime başı mı = wordStart[i]
+    private record Index(
+            String[] keys,
+            int[] owner,
+            byte[] field,
+            boolean[] wordStart,
+            AirportDto[] airports,
+            AirportFuzzyMatcher fuzzy
+    ) {}
+
+    private record Hit(AirportDto airport, int rank, boolean wordStart, boolean departures) {}
+
+    private record Entry(String key, int owner, byte field, boolean wordStart) {}
+
+    private final AirportCatalog airportCatalog;
+    private final FlightInventoryIndex flightInventoryIndex;
+
+    private final int fuzzyMinHits;
+    private final long fuzzyBudgetNanos;
+
+    private volatile Index index;
+
+    public AirportSearchIndex(
+            AirportCatalog airportCatalog,
+            FlightInventoryIndex flightInventoryIndex,
+            @Value("${app.airports.fuzzy.min-hits:5}") int fuzzyMinHits,
+            @Value("${app.airports.fuzzy.budget-micros:2000}") long fuzzyBudgetMicros
+    ) {
+        this.airportCatalog = airportCatalog;
+        this.flightInventoryIndex = flightInventoryIndex;
+        this.fuzzyMinHits = fuzzyMinHits;
+        this.fuzzyBudgetNanos = fuzzyBudgetMicros * 1_000L;
+    }
+
+    @EventListener(AirportCatalogRefreshedEvent.class)
+    public void rebuild() {
+        index = build(airportCatalog.snapshot().airports());
+    }
+
+    public List<AirportDto> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) return List.of();
+
+        Index idx = index;
+        if (idx == null) {
+            rebuild();
+            idx = index;
+        }
+
+        // airport index -> en iyi eşleşme
+        Map<Integer, Hit> best = new HashMap<>();
+
+        for (int i = lowerBound(idx.keys(), q); i < idx.keys().length && idx.keys()[i].startsWith(q); i++) {
+            int field = idx.field()[i];
+            int rank = switch (field) {
+                case CODE_PREFIX -> idx.keys()[i].equals(q) ? CODE_EXACT : CODE_PREFIX;
+                default -> field;
+            };
+
+            Hit hit = new Hit(idx.airports()[idx.owner()[i]], rank, idx.wordStart()[i], false);
+            best.merge(idx.owner()[i], hit, (a, b) -> better(a, b) ? a : b);
+        }
+
+        // Kalkış durumu sıralamadan önce havalimanı başına bir kez
+        best.replaceAll((owner, h) -> new Hit(h.airport(), h.rank(), h.wordStart(), hasDepartures(h.airport())));
+
+        List<AirportDto> result = new ArrayList<>(best.values().stream()
+                .sorted(Comparator
+                        .comparingInt(Hit::rank)
+                        .thenComparing(h -> !h.departures())
+                        .thenComparing(h -> !h.wordStart())
+                        .thenComparing(h -> h.airport().city() == null ? "" : h.airport().city())
+                        .thenComparing(h -> h.airport().code() == null ? "" : h.airport().code()))
+                .limit(limit)
+                .map(Hit::airport)
+                .toList());
+
+        if (result.size() < Math.min(fuzzyMinHits, limit)) {
+            appendFuzzy(idx, q, best.keySet(), result, limit);
+        }
+        return result;
+    }
+
+    // Prefix sonuçlarının arkasına, tekrar etmeden: edit distance > alan > kalkış durumu
+    private void appendFuzzy(Index idx, String q, Set<Integer> already, List<AirportDto> result, int limit) {
+        Map<Integer, AirportFuzzyMatcher.Match> fuzzy = new HashMap<>();
+        for (AirportFuzzyMatcher.Match m : idx.fuzzy().match(q, fuzzyBudgetNanos)) {
+            if (already.contains(m.owner())) continue;
+            fuzzy.merge(m.owner(), m, (a, b) ->
+                    a.distance() != b.distance() ? (a.distance() < b.distance() ? a : b)
+                            : (a.field() <= b.field() ? a : b));
+        }
+
+        Map<Integer, Boolean> departures = new HashMap<>();
+        for (Integer owner : fuzzy.keySet()) departures.put(owner, hasDepartures(idx.airports()[owner]));
+
+        fuzzy.values().stream()
+                .sorted(Comparator
+                        .comparingInt(AirportFuzzyMatcher.Match::distance)
+                        .thenComparingInt(m -> m.field() == CODE_PREFIX ? CODE_EXACT : m.field())
+                        .thenComparing(m -> !departures.get(m.owner())))
+                .limit(limit - result.size())
+                .forEach(m -> result.add(idx.airports()[m.owner()]));
+    }
+
+    private boolean hasDepartures(AirportDto a) {
+        return a.code() != null && flightInventoryIndex.hasDepartures(a.code());
+    }
+
+    private static boolean better(Hit a, Hit b) {
+        if (a.rank() != b.rank()) return a.rank() < b.rank();
+        return a.wordStart() && !b.wordStart();
+    }
+
+    private static Index build(List<AirportDto> airports) {
+        List<Entry> entries = new ArrayList<>();
+        AirportDto[] arr = airports.toArray(new AirportDto[0]);
+
+        for (int i = 0; i < arr.length; i++) {
+            AirportDto a = arr[i];
+            if (a.code() != null) entries.add(new Entry(normalize(a.code()), i, (byte) CODE_PREFIX, true));
+            addText(entries, a.city(), i, CITY);
+            addText(entries, a.name(), i, NAME);
+            addText(entries, a.country(), i, COUNTRY);
+        }
+
+        entries.sort(Comparator.comparing(Entry::key));
+
+        String[] keys = new String[entries.size()];
+        int[] owner = new int[entries.size()];
+        byte[] field = new byte[entries.size()];
+        boolean[] wordStart = new boolean[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key();
+            owner[i] = entries.get(i).owner();
+            field[i] = entries.get(i).field();
+            wordStart[i] = entries.get(i).wordStart();
+        }
+
+        return new Index(keys, owner, field, wordStart, arr,
+                AirportFuzzyMatcher.build(arr, CODE_PREFIX, CITY, NAME, COUNTRY));
+    }
+
+    // Tam metin + her kelimenin başından itibaren son ek ("istanbul sabiha gokcen" -> "sabiha gokcen", "gokcen")
+    private static void addText(List<Entry> entries, String text, int owner, int field) {
+        String norm = normalize(text);
+
+        for (int i = 0; i < norm.length(); i++) {
+            if (i == 0 || norm.charAt(i - 1) == ' ') {
+                entries.add(new Entry(norm.substring(i), owner, (byte) field, i == 0));
+            }
+        }
+    }
+
+    private static int lowerBound(String[] keys, String q) {
+        int pos = Arrays.binarySearch(keys, q);
+        if (pos < 0) return -pos - 1;
+        while (pos > 0 && keys[pos - 1].equals(q)) pos--;
+        return pos;
+    }
+
+    /**
+     * Küçük harf + aksan katlama: "İstanbul" / "ISTANBUL" / "istanbul" -> "istanbul", "Gökçen" -> "gokcen".
+     * Harf/rakam dışı karakterler tek boşluğa indirgenir.
+     */
+    public static String normalize(String s) {
+        if (s == null) return "";
+        String t = s.replace('ı', 'i').replace('İ', 'i');
+        t = MARKS.matcher(Normalizer.normalize(t, Normalizer.Form.NFD)).replaceAll("");
+        t = t.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+        return t;
+    }
+}
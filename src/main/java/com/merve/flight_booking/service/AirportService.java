@@ -1,65 +1,77 @@
 package com.merve.flight_booking.service;
 
 import com.merve.flight_booking.dto.AirportDto;
-import com.merve.flight_booking.entity.Airport;
-import com.merve.flight_booking.repository.AirportRepository;
-import com.merve.flight_booking.repository.FlightRepository;
+import com.merve.flight_booking.dto.NearbyAirportDto;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class AirportService {
 
-    private final AirportRepository airportRepository;
-    private final FlightRepository flightRepository;
+    private static final int AUTOCOMPLETE_LIMIT = 20;
+    private static final double MAX_NEARBY_RADIUS_KM = 500;
 
-    public AirportService(AirportRepository airportRepository, FlightRepository flightRepository) {
-        this.airportRepository = airportRepository;
-        this.flightRepository = flightRepository;
+    private final AirportCatalog airportCatalog;
+    private final AirportSearchIndex airportSearchIndex;
+    private final RouteAdjacency routeAdjacency;
+    private final AirportGeoIndex airportGeoIndex;
+
+    public AirportService(
+            AirportCatalog airportCatalog,
+            AirportSearchIndex airportSearchIndex,
+            RouteAdjacency routeAdjacency,
+            AirportGeoIndex airportGeoIndex
+    ) {
+        this.airportCatalog = airportCatalog;
+        this.airportSearchIndex = airportSearchIndex;
+        this.routeAdjacency = routeAdjacency;
+        this.airportGeoIndex = airportGeoIndex;
     }
 
+    // Bellekteki katalogdan (DB'ye gitmez)
     public List<AirportDto> listAll() {
-        return airportRepository.findAll()
-                .stream()
-                .map(this::toDto)
-                .toList();
+        return airportCatalog.snapshot().airports();
     }
 
-    // Autocomplete için opsiyonel (query ile)
+    // Autocomplete: bellek içi prefix indeksi
     public List<AirportDto> search(String q) {
         String query = (q == null) ? "" : q.trim();
         if (query.isEmpty()) {
-            // boşsa ilk 50 dönmek yerine hepsini dönmek ağır olabilir.
             return listAll();
         }
-        return airportRepository
-                .findTop20ByCodeContainingIgnoreCaseOrCityContainingIgnoreCaseOrNameContainingIgnoreCase(query, query, query)
-                .stream()
-                .map(this::toDto)
-                .toList();
+        return airportSearchIndex.search(query, AUTOCOMPLETE_LIMIT);
     }
 
-    private AirportDto toDto(Airport a) {
-        return new AirportDto(
-                a.getId(),
-                a.getCity(),
-                a.getCode(),
-                a.getCountry(),
-                a.getName()
-        );
+    // Koordinata yakın havalimanları (bellek içi grid)
+    public List<NearbyAirportDto> nearby(double lat, double lon, double radiusKm) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "lat/lon out of range");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "radiusKm must be in (0, " + (int) MAX_NEARBY_RADIUS_KM + "]");
+        }
+        return airportGeoIndex.nearby(lat, lon, radiusKm);
     }
 
-    // From listesi: sadece kalkışı olanlar
+    // From listesi: sadece kalkışı olanlar (bellek içi rota komşuluğu)
     public List<AirportDto> listFromAirports() {
-        List<Long> ids = flightRepository.findDistinctDepartureAirportIds();
-        return airportRepository.findByIdIn(ids).stream().map(this::toDto).toList();
+        return toDtos(routeAdjacency.origins());
     }
 
     // To listesi: fromId’ye göre gidilebilenler
     public List<AirportDto> listToAirports(Long fromId) {
-        List<Long> toIds = flightRepository.findDistinctArrivalAirportIdsByDeparture(fromId);
-        return airportRepository.findByIdIn(toIds).stream().map(this::toDto).toList();
+        return toDtos(routeAdjacency.destinations(fromId));
     }
-}
 
+    private List<AirportDto> toDtos(List<Long> ids) {
+        return ids.stream()
+                .map(airportCatalog::findById)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,66 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.AncillariesRequest;
+import com.merve.flight_booking.dto.PriceBreakdownResponse;
+import com.merve.flight_booking.entity.Booking;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Koltuk / yemek / bagaj seçimlerinin herhangi bir alt kümesi tek transaction'da:
+ * tek aggregate yükleme, tek fiyat hesabı, tek flush. Biri başarısız olursa hiçbiri uygulanmaz.
+ */
+@Service
+public class BookingAncillaryService {
+
+    private final BookingPricingEngine pricingEngine;
+    private final BookingSeatService bookingSeatService;
+    private final BookingMealService bookingMealService;
+    private final BookingBaggageService bookingBaggageService;
+
+    public BookingAncillaryService(
+            BookingPricingEngine pricingEngine,
+            BookingSeatService bookingSeatService,
+            BookingMealService bookingMealService,
+            BookingBaggageService bookingBaggageService
+    ) {
+        this.pricingEngine = pricingEngine;
+        this.bookingSeatService = bookingSeatService;
+        this.bookingMealService = bookingMealService;
+        this.bookingBaggageService = bookingBaggageService;
+    }
+
+    @Transactional
+    public PriceBreakdownResponse updateAncillaries(Long bookingId, AncillariesRequest request) {
+        if (request == null || (request.getSeat() == null && request.getMeal() == null && request.getBaggage() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one of seat, meal or baggage is required");
+        }
+
+        Booking booking = pricingEngine.load(bookingId);
+
+        if (request.getMeal() != null) {
+            bookingMealService.apply(booking, request.getMeal().getOptionId());
+        }
+        if (request.getBaggage() != null) {
+            bookingBaggageService.apply(booking, request.getBaggage().getOptionId());
+        }
+
+        // Koltuk en son: önceki adımlar hata verirse koltuk bitset'inde boşuna tutulmaz
+        SeatInventory.Hold hold = null;
+        if (request.getSeat() != null) {
+            hold = bookingSeatService.apply(
+                    booking,
+                    request.getSeat().getOptionId(),
+                    request.getSeat().getSeatNumber(),
+                    request.getSeat().isAutoAssign()
+            );
+        }
+
+        pricingEngine.reprice(booking);
+        bookingSeatService.flush(hold);
+
+        return pricingEngine.breakdown(booking);
+    }
+}
@@ -3,54 +3,52 @@ package com.merve.flight_booking.service;
 import com.merve.flight_booking.entity.BaggageOption;
 import com.merve.flight_booking.entity.Booking;
 import com.merve.flight_booking.entity.BookingBaggage;
-import com.merve.flight_booking.entity.BookingStatus;
 import com.merve.flight_booking.repository.BaggageOptionRepository;
-import com.merve.flight_booking.repository.BookingBaggageRepository;
-import com.merve.flight_booking.repository.BookingRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class BookingBaggageService {
 
-    private final BookingRepository bookingRepository;
-    private final BookingBaggageRepository bookingBaggageRepository;
     private final BaggageOptionRepository baggageOptionRepository;
-    private final BookingService bookingService;
+    private final BookingPricingEngine pricingEngine;
 
     public BookingBaggageService(
-            BookingRepository bookingRepository,
-            BookingBaggageRepository bookingBaggageRepository,
             BaggageOptionRepository baggageOptionRepository,
-            BookingService bookingService
+            BookingPricingEngine pricingEngine
     ) {
-        this.bookingRepository = bookingRepository;
-        this.bookingBaggageRepository = bookingBaggageRepository;
         this.baggageOptionRepository = baggageOptionRepository;
-        this.bookingService = bookingService;
+        this.pricingEngine = pricingEngine;
     }
 
     @Transactional
     public void selectBaggage(Long bookingId, Long optionId) {
 
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        // Booking + mevcut ek hizmetler tek sorguda
+        Booking booking = pricingEngine.load(bookingId);
+        apply(booking, optionId);
+
+        // Toplam bellekte hesaplanır, commit'te tek UPDATE
+        pricingEngine.reprice(booking);
+    }
+
+    /**
+     * Yüklenmiş booking üzerinde seçimi uygular (fiyatlama / flush çağırana ait).
+     * Yeni kayıt Booking cascade'i ile flush sırasında insert edilir.
+     */
+    void apply(Booking booking, Long optionId) {
+        BookingPricingEngine.requireModifiable(booking);
+
         BaggageOption option = baggageOptionRepository.findById(optionId).orElseThrow();
 
-        if (booking.getStatus() == BookingStatus.CONFIRMED) {
-            throw new RuntimeException("Confirmed booking cannot be modified");
+        BookingBaggage baggage = booking.getBaggage();
+        if (baggage == null) {
+            baggage = new BookingBaggage();
+            baggage.setBooking(booking);
+            booking.setBaggage(baggage);
         }
 
-        BookingBaggage baggage =
-                bookingBaggageRepository.findByBookingId(bookingId)
-                        .orElse(new BookingBaggage());
-
-        baggage.setBooking(booking);
         baggage.setBaggageOption(option);
         baggage.setPrice(option.getPrice());
-
-        bookingBaggageRepository.save(baggage);
-
-        bookingService.recalcTotal(bookingId);
     }
 }
-
@@ -0,0 +1,211 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.entity.Booking;
+import com.merve.flight_booking.repository.BookingRepository;
+import com.merve.flight_booking.repository.BookingSeatRepository;
+import com.merve.flight_booking.repository.FlightSeatAssignmentRepository;
+import com.merve.flight_booking.repository.PassengerRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PENDING booking'lerin ödeme süresi (hold TTL).
+ * - Her yeni booking DelayQueue'ya süresiyle eklenir; tek daemon thread süresi dolanları toplu işler
+ * - Süresi dolan booking'ler tek UPDATE ile EXPIRED olur, flight_seat_assignment satırları toplu DELETE ile silinir,
+ *   koltuk numaraları (booking + yolcu) boşaltılır, SeatInventory bitleri commit sonrası bırakılır
+ * - Kuyruk yalnızca bellekte: açılışta DB'deki süreli PENDING booking'lerden yeniden kurulur
+ * - UPDATE'ler status = PENDING ve süre koşuluyla korunur; arada ödenen / iptal edilen booking'e dokunulmaz
+ * - Eski şemada bookings.status native enum('PENDING','CONFIRMED','CANCELLED'); ddl-auto=update tipini değiştirmez,
+ *   EXPIRED yazılamaz. Açılışta bir kez varchar'a çevrilir
+ */
+@Service
+public class BookingHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingHoldService.class);
+
+    private record Expiry(Long bookingId, long expiresAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(expiresAtMillis, ((Expiry) o).expiresAtMillis);
+        }
+    }
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final PassengerRepository passengerRepository;
+    private final FlightSeatAssignmentRepository seatAssignmentRepository;
+    private final SeatInventory seatInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final int batchSize;
+
+    private final DelayQueue<Expiry> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    public BookingHoldService(
+            BookingRepository bookingRepository,
+            BookingSeatRepository bookingSeatRepository,
+            PassengerRepository passengerRepository,
+            FlightSeatAssignmentRepository seatAssignmentRepository,
+            SeatInventory seatInventory,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.booking.hold-ttl-minutes:15}") long ttlMinutes,
+            @Value("${app.booking.expiry-batch-size:500}") int batchSize
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.passengerRepository = passengerRepository;
+        this.seatAssignmentRepository = seatAssignmentRepository;
+        this.seatInventory = seatInventory;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = Duration.ofMinutes(Math.max(1, ttlMinutes));
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public LocalDateTime newExpiry() {
+        return LocalDateTime.now().plus(ttl);
+    }
+
+    public void schedule(Booking booking) {
+        if (booking.getId() == null || booking.getHoldExpiresAt() == null) return;
+        queue.add(new Expiry(booking.getId(), toMillis(booking.getHoldExpiresAt())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        widenStatusColumn();
+
+        // Bu özellikten önce oluşmuş PENDING booking'ler şimdiden itibaren bir TTL alır
+        Integer backfilled = transactionTemplate.execute(status ->
+                bookingRepository.backfillHoldExpiry(newExpiry()));
+
+        List<BookingRepository.PendingHold> pending = bookingRepository.findPendingHolds();
+        for (BookingRepository.PendingHold h : pending) {
+            queue.add(new Expiry(h.getId(), toMillis(h.getHoldExpiresAt())));
+        }
+        log.info("Booking hold expiry started: {} pending holds ({} backfilled)", pending.size(), backfilled);
+
+        Thread t = new Thread(this::run, "booking-hold-expiry");
+        t.setDaemon(true);
+        worker = t;
+        t.start();
+    }
+
+    private void widenStatusColumn() {
+        // MySQL "ENUM", H2 "ENUM('PENDING', ...)" döner
+        String type = columnType("bookings", "status");
+        if (type == null || !type.toUpperCase(Locale.ROOT).startsWith("ENUM")) return;
+
+        jdbcTemplate.execute("alter table bookings modify status varchar(20)");
+        log.info("bookings.status changed from enum to varchar(20)");
+    }
+
+    private String columnType(String table, String column) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            boolean upper = meta.storesUpperCaseIdentifiers();
+            try (ResultSet rs = meta.getColumns(con.getCatalog(), null,
+                    upper ? table.toUpperCase(Locale.ROOT) : table,
+                    upper ? column.toUpperCase(Locale.ROOT) : column)) {
+                return rs.next() ? rs.getString("TYPE_NAME") : null;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = worker;
+        if (t != null) t.interrupt();
+    }
+
+    private void run() {
+        List<Expiry> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                // Aynı anda dolmuş diğerleri de aynı batch'e (drainTo yalnızca süresi dolanları alır)
+                queue.drainTo(batch, batchSize - 1);
+
+                List<Long> ids = new ArrayList<>(batch.size());
+                for (Expiry e : batch) ids.add(e.bookingId());
+                expire(ids);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // DB geçici olarak erişilemezse kaybolmasın: kısa süre sonra tekrar denenir
+                log.warn("Booking hold expiry failed for {} bookings, retrying", batch.size(), e);
+                long retryAt = System.currentTimeMillis() + 5_000;
+                for (Expiry x : batch) queue.add(new Expiry(x.bookingId(), retryAt));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Verilen booking'lerden hâlâ PENDING ve süresi dolmuş olanları EXPIRED yapar, koltuklarını bırakır.
+     */
+    public int expire(List<Long> bookingIds) {
+        Integer expired = transactionTemplate.execute(status -> {
+            // Önce koşullu UPDATE: satırlar kilitlenir, yalnızca gerçekten EXPIRED olanların koltukları bırakılır
+            int count = bookingRepository.expireHolds(bookingIds, LocalDateTime.now());
+            if (count == 0) return 0;
+
+            // Booking + grup yolcusu koltukları tek tablodan
+            List<Long> withSeat = release(seatAssignmentRepository.findExpiredSeats(bookingIds));
+            if (!withSeat.isEmpty()) {
+                seatAssignmentRepository.deleteByBookingIds(withSeat);
+                bookingSeatRepository.clearSeatNumbers(withSeat);
+                passengerRepository.clearSeatNumbers(withSeat);
+            }
+
+            return count;
+        });
+        return expired == null ? 0 : expired;
+    }
+
+    // Koltukları commit sonrası bırakır; koltuğu olan booking id'lerini döner
+    private List<Long> release(List<FlightSeatAssignmentRepository.HeldSeat> seats) {
+        Set<Long> bookingIds = new LinkedHashSet<>();
+        for (FlightSeatAssignmentRepository.HeldSeat s : seats) {
+            seatInventory.releaseAfterCommit(s.getFlightId(), s.getSeatNumber());
+            bookingIds.add(s.getBookingId());
+        }
+        return new ArrayList<>(bookingIds);
+    }
+
+    private static long toMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
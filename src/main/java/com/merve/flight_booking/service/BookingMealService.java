@@ -2,10 +2,7 @@ package com.merve.flight_booking.service;
 
 import com.merve.flight_booking.entity.Booking;
 import com.merve.flight_booking.entity.BookingMeal;
-import com.merve.flight_booking.entity.BookingStatus;
 import com.merve.flight_booking.entity.MealOption;
-import com.merve.flight_booking.repository.BookingMealRepository;
-import com.merve.flight_booking.repository.BookingRepository;
 import com.merve.flight_booking.repository.MealOptionRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,43 +10,45 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class BookingMealService {
 
-    private final BookingRepository bookingRepository;
-    private final BookingMealRepository bookingMealRepository;
     private final MealOptionRepository mealOptionRepository;
-    private final BookingService bookingService;
+    private final BookingPricingEngine pricingEngine;
 
     public BookingMealService(
-            BookingRepository bookingRepository,
-            BookingMealRepository bookingMealRepository,
             MealOptionRepository mealOptionRepository,
-            BookingService bookingService
+            BookingPricingEngine pricingEngine
     ) {
-        this.bookingRepository = bookingRepository;
-        this.bookingMealRepository = bookingMealRepository;
         this.mealOptionRepository = mealOptionRepository;
-        this.bookingService = bookingService;
+        this.pricingEngine = pricingEngine;
     }
 
     @Transactional
     public void selectMeal(Long bookingId, Long optionId) {
 
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        // Booking + mevcut ek hizmetler tek sorguda
+        Booking booking = pricingEngine.load(bookingId);
+        apply(booking, optionId);
+
+        // Toplam bellekte hesaplanır, commit'te tek UPDATE
+        pricingEngine.reprice(booking);
+    }
+
+    /**
+     * Yüklenmiş booking üzerinde seçimi uygular (fiyatlama / flush çağırana ait).
+     * Yeni kayıt Booking cascade'i ile flush sırasında insert edilir.
+     */
+    void apply(Booking booking, Long optionId) {
+        BookingPricingEngine.requireModifiable(booking);
+
         MealOption option = mealOptionRepository.findById(optionId).orElseThrow();
 
-        if (booking.getStatus() == BookingStatus.CONFIRMED) {
-            throw new RuntimeException("Confirmed booking cannot be modified");
+        BookingMeal meal = booking.getMeal();
+        if (meal == null) {
+            meal = new BookingMeal();
+            meal.setBooking(booking);
+            booking.setMeal(meal);
         }
-        BookingMeal meal =
-                bookingMealRepository.findByBookingId(bookingId)
-                        .orElse(new BookingMeal());
 
-        meal.setBooking(booking);
         meal.setMealOption(option);
         meal.setPrice(option.getPrice());
-
-        bookingMealRepository.save(meal);
-
-        bookingService.recalcTotal(bookingId);
     }
 }
-
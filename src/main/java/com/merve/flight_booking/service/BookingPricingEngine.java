@@ -0,0 +1,143 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.PriceBreakdownItem;
+import com.merve.flight_booking.dto.PriceBreakdownResponse;
+import com.merve.flight_booking.entity.*;
+import com.merve.flight_booking.repository.BookingRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booking toplam fiyatı tek yerden hesaplanır.
+ * - Aggregate (uçuş, fare type, bagaj, yemek, koltuk, yolcular) tek fetch-join sorgusuyla yüklenir
+ * - Grup booking'inde uçuş + fare type yolcu sayısı kadar, ek hizmetler yolcu başına
+ * - Toplam bellekteki bileşenlerden hesaplanır; değiştiyse dirty checking ile tek UPDATE
+ * - Aynı kalemler fiyat dökümü (receipt) olarak da döner
+ */
+@Service
+public class BookingPricingEngine {
+
+    private final BookingRepository bookingRepository;
+
+    public BookingPricingEngine(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    public Booking load(Long bookingId) {
+        return bookingRepository.findPricingAggregate(bookingId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found"));
+    }
+
+    /**
+     * Ek hizmet (koltuk / yemek / bagaj) değiştirilmeden önce ortak kontrol:
+     * ödenmiş / iptal edilmiş booking değişmez, süresi dolmuş hold 409.
+     */
+    static void requireModifiable(Booking booking) {
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            throw new RuntimeException("Confirmed booking cannot be modified");
+        }
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new RuntimeException("Cancelled booking cannot be modified");
+        }
+        if (booking.getStatus() == BookingStatus.EXPIRED || booking.isHoldExpired()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Booking hold has expired");
+        }
+    }
+
+    /**
+     * Yüklenmiş (managed) booking'in toplamını günceller; DB'ye ek sorgu atmaz.
+     * Ek hizmet servisleri yeni/değişen kalemi booking üzerine set ettikten sonra çağırır.
+     */
+    public double reprice(Booking booking) {
+        double total = total(booking);
+        if (Double.compare(total, booking.getTotalPrice()) != 0) {
+            booking.setTotalPrice(total);
+        }
+        return total;
+    }
+
+    @Transactional
+    public double reprice(Long bookingId) {
+        return reprice(load(bookingId));
+    }
+
+    @Transactional(readOnly = true)
+    public PriceBreakdownResponse breakdown(Long bookingId) {
+        return breakdown(load(bookingId));
+    }
+
+    public PriceBreakdownResponse breakdown(Booking booking) {
+        List<PriceBreakdownItem> items = items(booking);
+
+        double total = 0;
+        for (PriceBreakdownItem i : items) total += i.amount();
+
+        return new PriceBreakdownResponse(
+                booking.getId(),
+                booking.getStatus() == null ? null : booking.getStatus().name(),
+                items,
+                total
+        );
+    }
+
+    public double total(Booking booking) {
+        double total = 0;
+        for (PriceBreakdownItem i : items(booking)) total += i.amount();
+        return total;
+    }
+
+    private static List<PriceBreakdownItem> items(Booking booking) {
+        List<PriceBreakdownItem> items = new ArrayList<>(5);
+
+        // Yolcu listesi boşsa tek yolculu booking
+        int travellers = Math.max(1, booking.getPassengers().size());
+        String times = travellers > 1 ? " x " + travellers : "";
+
+        Flight flight = booking.getFlight();
+        items.add(new PriceBreakdownItem("BASE_FARE", flight.getFlightNumber() + times, flight.getBasePrice() * travellers));
+
+        AirlineFareType aft = booking.getAirlineFareType();
+        String fareName = aft.getFareType() == null ? "" : aft.getFareType().getName();
+        items.add(new PriceBreakdownItem("FARE_TYPE", fareName + times, aft.getExtraPrice() * travellers));
+
+        BookingBaggage baggage = booking.getBaggage();
+        if (baggage != null) {
+            BaggageOption o = baggage.getBaggageOption();
+            items.add(new PriceBreakdownItem("BAGGAGE", o == null ? null : o.getWeightKg() + " kg", baggage.getPrice()));
+        }
+
+        BookingMeal meal = booking.getMeal();
+        if (meal != null) {
+            MealOption o = meal.getMealOption();
+            items.add(new PriceBreakdownItem("MEAL", o == null ? null : o.getName(), meal.getPrice()));
+        }
+
+        BookingSeat seat = booking.getSeat();
+        if (seat != null) {
+            SeatOption o = seat.getSeatOption();
+            String type = o == null ? null : o.getSeatType();
+            String description = seat.getSeatNumber() == null ? type : seat.getSeatNumber() + (type == null ? "" : " " + type);
+            items.add(new PriceBreakdownItem("SEAT", description, seat.getPrice()));
+        }
+
+        for (Passenger p : booking.getPassengers()) {
+            String name = p.getFullName().trim();
+            if (p.getBaggageOption() != null) {
+                items.add(new PriceBreakdownItem("BAGGAGE", name + ": " + p.getBaggageOption().getWeightKg() + " kg", p.getBaggagePrice()));
+            }
+            if (p.getMealOption() != null) {
+                items.add(new PriceBreakdownItem("MEAL", name + ": " + p.getMealOption().getName(), p.getMealPrice()));
+            }
+            if (p.getSeatOption() != null) {
+                String seatDesc = p.getSeatNumber() == null ? p.getSeatOption().getSeatType() : p.getSeatNumber() + " " + p.getSeatOption().getSeatType();
+                items.add(new PriceBreakdownItem("SEAT", name + ": " + seatDesc, p.getSeatPrice()));
+            }
+        }
+        return items;
+    }
+}
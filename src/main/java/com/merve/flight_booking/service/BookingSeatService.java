@@ -2,58 +2,146 @@ package com.merve.flight_booking.service;
 
 import com.merve.flight_booking.entity.*;
 import com.merve.flight_booking.repository.*;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+import java.util.Objects;
 
 @Service
 public class BookingSeatService {
 
-    private final BookingRepository bookingRepository;
     private final BookingSeatRepository bookingSeatRepository;
+    private final FlightSeatAssignmentRepository seatAssignmentRepository;
     private final SeatOptionRepository seatOptionRepository;
-    private final BookingService bookingService;
+    private final BookingPricingEngine pricingEngine;
+    private final SeatInventory seatInventory;
+    private final SeatRecommender seatRecommender;
+    private final SeatMapService seatMapService;
+
+    private static final int AUTO_ASSIGN_CANDIDATES = 20;
 
     public BookingSeatService(
-            BookingRepository bookingRepository,
             BookingSeatRepository bookingSeatRepository,
+            FlightSeatAssignmentRepository seatAssignmentRepository,
             SeatOptionRepository seatOptionRepository,
-            BookingService bookingService
+            BookingPricingEngine pricingEngine,
+            SeatInventory seatInventory,
+            SeatRecommender seatRecommender,
+            SeatMapService seatMapService
     ) {
-        this.bookingRepository = bookingRepository;
         this.bookingSeatRepository = bookingSeatRepository;
+        this.seatAssignmentRepository = seatAssignmentRepository;
         this.seatOptionRepository = seatOptionRepository;
-        this.bookingService = bookingService;
+        this.pricingEngine = pricingEngine;
+        this.seatInventory = seatInventory;
+        this.seatRecommender = seatRecommender;
+        this.seatMapService = seatMapService;
+    }
+
+    @Transactional
+    public void selectSeat(Long bookingId, Long seatOptionId, String seatNumber) {
+        selectSeat(bookingId, seatOptionId, seatNumber, false);
     }
 
     /**
      * Seat selection
      * - Seat number opsiyonel
      * - Aynı booking için tek seat
+     * - Koltuk numarası verilirse uçuşun bitset'inde atomik olarak tutulur (doluysa 409);
+     *   rollback olursa bırakılır, eski koltuk commit sonrası serbest kalır
+     * - autoAssign: numara verilmediyse option tipine en uygun boş koltuk seçilir
      */
     @Transactional
-    public void selectSeat(Long bookingId, Long seatOptionId, String seatNumber) {
+    public void selectSeat(Long bookingId, Long seatOptionId, String seatNumber, boolean autoAssign) {
 
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow();
+        // Booking + mevcut koltuk tek sorguda
+        Booking booking = pricingEngine.load(bookingId);
+        SeatInventory.Hold hold = apply(booking, seatOptionId, seatNumber, autoAssign);
 
-        if (booking.getStatus() == BookingStatus.CONFIRMED) {
-            throw new RuntimeException("Confirmed booking cannot be modified");
-        }
+        pricingEngine.reprice(booking);
+        flush(hold);
+    }
+
+    /**
+     * Yüklenmiş booking üzerinde koltuk seçimini uygular; fiyatlama ve flush çağırana ait.
+     * Dönen hold (yoksa null) flush'ta unique constraint hatası olursa işaretlenmek üzere flush()'a verilir.
+     */
+    SeatInventory.Hold apply(Booking booking, Long seatOptionId, String seatNumber, boolean autoAssign) {
+        BookingPricingEngine.requireModifiable(booking);
+
+        Long flightId = booking.getFlight().getId();
+        SeatLayout layout = seatInventory.layout(flightId);
 
-        // seatNumber opsiyonel: null/blank ise null yap
+        // seatNumber opsiyonel: null/blank ise null yap, verildiyse "12C" biçimine getir
         String normalizedSeatNumber = null;
+        int seatIndex = -1;
         if (seatNumber != null && !seatNumber.isBlank()) {
-            normalizedSeatNumber = seatNumber.trim();
+            seatIndex = layout.indexOf(seatNumber);
+            if (seatIndex < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat " + seatNumber.trim() + " does not exist on this flight");
+            }
+            normalizedSeatNumber = layout.seatNumber(seatIndex);
         }
 
         SeatOption option = seatOptionRepository.findById(seatOptionId)
                 .orElseThrow();
 
-        BookingSeat seat = bookingSeatRepository
-                .findByBookingId(bookingId)
-                .orElse(new BookingSeat());
+        // Koltuk numarası verildiyse fiyat o koltuğun option'ından gelir
+        if (seatIndex >= 0) seatMapService.requireOption(layout, seatIndex, option);
+
+        BookingSeat seat = booking.getSeat();
+        if (seat == null) {
+            // Booking cascade'i ile flush sırasında insert edilir
+            seat = new BookingSeat();
+            booking.setSeat(seat);
+        }
+
+        String previousSeatNumber = seat.getSeatNumber();
+        SeatInventory.Hold hold = null;
+
+        if (autoAssign && normalizedSeatNumber == null) {
+            if (previousSeatNumber != null) {
+                // Zaten koltuğu var: koru (yeni option o koltuğa uymalı)
+                int previousIndex = layout.indexOf(previousSeatNumber);
+                if (previousIndex >= 0) seatMapService.requireOption(layout, previousIndex, option);
+                normalizedSeatNumber = previousSeatNumber;
+            } else {
+                // Adaylar sırayla denenir; arada başkası kaparsa CAS başarısız olur, sıradakine geçilir.
+                // Seçilen option'la fiyatlanmayan koltuklar atlanır
+                for (int candidate : seatRecommender.singleSeatCandidates(flightId, option.getSeatType(), AUTO_ASSIGN_CANDIDATES)) {
+                    if (!seatMapService.hasOption(layout, candidate, option)) continue;
+                    hold = seatInventory.tryHoldInTransaction(flightId, candidate);
+                    if (hold != null) {
+                        normalizedSeatNumber = layout.seatNumber(candidate);
+                        break;
+                    }
+                }
+                if (hold == null) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "No free seat available");
+                }
+            }
+        }
+
+        boolean seatChanged = !Objects.equals(previousSeatNumber, normalizedSeatNumber);
+
+        if (seatChanged && hold == null && seatIndex >= 0) {
+            hold = seatInventory.holdInTransaction(flightId, seatIndex);
+        }
+        if (seatChanged) {
+            seatInventory.releaseAfterCommit(flightId, previousSeatNumber);
+
+            // Koltuğun DB kaydı flight_seat_assignment'ta: eskisi hemen silinir, yenisi flush'ta insert edilir
+            if (previousSeatNumber != null) seatAssignmentRepository.deleteSeat(booking.getId(), previousSeatNumber);
+            if (normalizedSeatNumber != null) seatAssignmentRepository.save(assignment(booking, normalizedSeatNumber));
+        }
 
         seat.setBooking(booking);
+        seat.setFlight(booking.getFlight());
         seat.setSeatOption(option);
 
         // null olabilir
@@ -61,8 +149,39 @@ public class BookingSeatService {
 
         seat.setPrice(option.getPrice());
 
-        bookingSeatRepository.save(seat);
+        return hold;
+    }
+
+    // Tüm değişiklikler tek flush'ta; koltuk unique constraint ihlali burada yakalanır
+    void flush(SeatInventory.Hold hold) {
+        try {
+            bookingSeatRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Başka bir ihlal (ör. çift gönderilen ek hizmet insert'i): normal rollback, tutulan bit bırakılır
+            if (!isViolationOf(e, FlightSeatAssignment.SEAT_CONSTRAINT)) throw e;
+
+            // Başka bir node aynı koltuğu az önce satmış
+            if (hold != null) hold.markTakenElsewhere();
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat is already taken");
+        }
+    }
+
+    static FlightSeatAssignment assignment(Booking booking, String seatNumber) {
+        FlightSeatAssignment a = new FlightSeatAssignment();
+        a.setBooking(booking);
+        a.setFlight(booking.getFlight());
+        a.setSeatNumber(seatNumber);
+        return a;
+    }
 
-        bookingService.recalcTotal(bookingId);
+    // Hibernate constraint adını dialect'e göre çıkarır ("booking_seat.uk_...", "PUBLIC.UK_..._INDEX_1" vb.)
+    static boolean isViolationOf(DataIntegrityViolationException e, String constraint) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve) {
+                String name = cve.getConstraintName();
+                return name != null && name.toLowerCase(Locale.ROOT).contains(constraint);
+            }
+        }
+        return false;
     }
 }
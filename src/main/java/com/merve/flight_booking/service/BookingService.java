@@ -1,46 +1,78 @@
 package com.merve.flight_booking.service;
 
 import com.merve.flight_booking.dto.BookingRequest;
+import com.merve.flight_booking.dto.BookingSummary;
+import com.merve.flight_booking.dto.BookingSummaryPage;
+import com.merve.flight_booking.dto.PriceBreakdownResponse;
 import com.merve.flight_booking.entity.*;
 import com.merve.flight_booking.repository.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 
 @Service
 public class BookingService {
 
+    private static final int DEFAULT_SUMMARY_PAGE_SIZE = 20;
+    private static final int MAX_SUMMARY_PAGE_SIZE = 100;
+
     private final BookingRepository bookingRepository;
-    private final BookingBaggageRepository bookingBaggageRepository;
-    private final BookingMealRepository bookingMealRepository;
-    private final BookingSeatRepository bookingSeatRepository;
 
     private final UserRepository userRepository;
     private final FlightRepository flightRepository;
     private final AirlineFareTypeRepository airlineFareTypeRepository;
+    private final SeatInventory seatInventory;
+    private final FlightSeatAssignmentRepository seatAssignmentRepository;
+    private final BookingHoldService bookingHoldService;
+    private final BookingPricingEngine pricingEngine;
+    private final IdempotencyStore idempotencyStore;
 
     public BookingService(
             BookingRepository bookingRepository,
-            BookingBaggageRepository bookingBaggageRepository,
-            BookingMealRepository bookingMealRepository,
-            BookingSeatRepository bookingSeatRepository,
             UserRepository userRepository,
             FlightRepository flightRepository,
-            AirlineFareTypeRepository airlineFareTypeRepository
+            AirlineFareTypeRepository airlineFareTypeRepository,
+            SeatInventory seatInventory,
+            FlightSeatAssignmentRepository seatAssignmentRepository,
+            BookingHoldService bookingHoldService,
+            BookingPricingEngine pricingEngine,
+            IdempotencyStore idempotencyStore
     ) {
         this.bookingRepository = bookingRepository;
-        this.bookingBaggageRepository = bookingBaggageRepository;
-        this.bookingMealRepository = bookingMealRepository;
-        this.bookingSeatRepository = bookingSeatRepository;
         this.userRepository = userRepository;
         this.flightRepository = flightRepository;
         this.airlineFareTypeRepository = airlineFareTypeRepository;
+        this.seatInventory = seatInventory;
+        this.seatAssignmentRepository = seatAssignmentRepository;
+        this.bookingHoldService = bookingHoldService;
+        this.pricingEngine = pricingEngine;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /* ================= CREATE BOOKING ================= */
 
+    // Aynı Idempotency-Key ile tekrar (çift tık / retry): yeni booking açılmaz, ilk cevap döner
+    public Booking createBooking(BookingRequest req, String idempotencyKey) {
+        String email = SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getName();
+
+        return idempotencyStore.execute(
+                "create-booking", email, idempotencyKey,
+                req.getFlightId() + ":" + req.getAirlineFareTypeId(),
+                () -> createBooking(req)
+        );
+    }
+
     public Booking createBooking(BookingRequest req) {
         String email = SecurityContextHolder.getContext()
                 .getAuthentication()
@@ -56,44 +88,25 @@ public class BookingService {
         booking.setFlight(flight);
         booking.setAirlineFareType(aft);
         booking.setStatus(BookingStatus.PENDING);
+        booking.setHoldExpiresAt(bookingHoldService.newExpiry());
 
-        booking.setTotalPrice(
-                flight.getBasePrice() + aft.getExtraPrice()
-        );
+        booking.setTotalPrice(pricingEngine.total(booking));
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        bookingHoldService.schedule(saved);
+        return saved;
     }
 
     /* ================= TOTAL CALCULATION ================= */
 
+    // Hesaplama BookingPricingEngine'de (tek fetch-join sorgu + tek UPDATE)
+    @Transactional
     public void recalcTotal(Long bookingId) {
+        pricingEngine.reprice(bookingId);
+    }
 
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
-
-        double total =
-                booking.getFlight().getBasePrice()
-                        + booking.getAirlineFareType().getExtraPrice();
-
-        BookingBaggage baggage =
-                bookingBaggageRepository.findByBookingId(bookingId).orElse(null);
-        if (baggage != null) {
-            total += baggage.getPrice();
-        }
-
-        BookingMeal meal =
-                bookingMealRepository.findByBookingId(bookingId).orElse(null);
-        if (meal != null) {
-            total += meal.getPrice();
-        }
-
-        BookingSeat seat =
-                bookingSeatRepository.findByBookingId(bookingId).orElse(null);
-        if (seat != null) {
-            total += seat.getPrice();
-        }
-
-        booking.setTotalPrice(total);
-        bookingRepository.save(booking);
+    public PriceBreakdownResponse getPriceBreakdown(Long bookingId) {
+        return pricingEngine.breakdown(bookingId);
     }
 
     public Booking getBookingDetail(Long bookingId) {
@@ -121,6 +134,23 @@ public class BookingService {
             throw new RuntimeException("Confirmed booking cannot be cancelled");
         }
 
+        // Koltuk commit sonrası başka yolculara açılır
+        boolean hadSeat = false;
+        BookingSeat seat = booking.getSeat();
+        if (seat != null && seat.getSeatNumber() != null) {
+            seatInventory.releaseAfterCommit(booking.getFlight().getId(), seat.getSeatNumber());
+            seat.setSeatNumber(null);
+            hadSeat = true;
+        }
+        for (Passenger p : booking.getPassengers()) {
+            if (p.getSeatNumber() != null) {
+                seatInventory.releaseAfterCommit(booking.getFlight().getId(), p.getSeatNumber());
+                p.setSeatNumber(null);
+                hadSeat = true;
+            }
+        }
+        if (hadSeat) seatAssignmentRepository.deleteByBookingIds(List.of(booking.getId()));
+
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
     }
@@ -138,4 +168,56 @@ public class BookingService {
         return bookingRepository.findByUser_EmailOrderByBookingDateDesc(email);
     }
 
+    /**
+     * Rezervasyonlarım (özet): tek projection sorgusu, keyset sayfalama (booking_date desc, id desc).
+     * Detay için GET /api/bookings/{id}.
+     */
+    @Transactional(readOnly = true)
+    public BookingSummaryPage getMyBookingSummaries(String cursor, Integer size) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        if (email == null || email.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+
+        int limit = size == null ? DEFAULT_SUMMARY_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_SUMMARY_PAGE_SIZE);
+
+        // Bir fazlası okunur: sonraki sayfa var mı
+        List<BookingSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingRepository.findSummaries(email, Limit.of(limit + 1));
+        } else {
+            SummaryCursor after = decodeCursor(cursor);
+            rows = after.bookingDate() == null
+                    ? bookingRepository.findUndatedSummariesBefore(email, after.id(), Limit.of(limit + 1))
+                    : bookingRepository.findSummariesBefore(email, after.bookingDate(), after.id(), Limit.of(limit + 1));
+        }
+
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = encodeCursor(rows.get(limit - 1));
+        }
+        return new BookingSummaryPage(List.copyOf(rows), next);
+    }
+
+    private record SummaryCursor(LocalDateTime bookingDate, Long id) {}
+
+    // base64url("bookingDate|id"), istemci için opak; tarihsiz satırda "|id"
+    private static String encodeCursor(BookingSummary last) {
+        String raw = (last.bookingDate() == null ? "" : last.bookingDate().toString()) + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SummaryCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) throw new IllegalArgumentException(raw);
+            String date = raw.substring(0, sep);
+            return new SummaryCursor(date.isEmpty() ? null : LocalDateTime.parse(date), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
 }
@@ -0,0 +1,160 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.FlightView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Aktarmalı (1-2 stop) uçuş arama.
+ * - FlightInventoryIndex üzerindeki zamana bağlı rota grafiğinde DFS
+ * - Bacak başına DB sorgusu yok; indeks hazır değilse boş döner
+ * - Arama süresi latency bütçesi ile sınırlı
+ */
+@Service
+public class ConnectionSearchService {
+
+    private final FlightInventoryIndex flightInventoryIndex;
+
+    private final Duration minConnection;
+    private final Duration maxTotalDuration;
+    private final int maxStops;
+    private final int maxResults;
+    private final long budgetNanos;
+
+    public ConnectionSearchService(
+            FlightInventoryIndex flightInventoryIndex,
+            @Value("${app.search.connections.min-connection-minutes:60}") long minConnectionMinutes,
+            @Value("${app.search.connections.max-duration-hours:24}") long maxDurationHours,
+            @Value("${app.search.connections.max-stops:2}") int maxStops,
+            @Value("${app.search.connections.max-results:20}") int maxResults,
+            @Value("${app.search.connections.budget-ms:50}") long budgetMs
+    ) {
+        this.flightInventoryIndex = flightInventoryIndex;
+        this.minConnection = Duration.ofMinutes(minConnectionMinutes);
+        this.maxTotalDuration = Duration.ofHours(maxDurationHours);
+        this.maxStops = maxStops;
+        this.maxResults = maxResults;
+        this.budgetNanos = budgetMs * 1_000_000L;
+    }
+
+    /**
+     * origins -> destinations için verilen günde başlayan aktarmalı itinerary'ler.
+     * Uçlar metro olabilir (birden çok havalimanı); herhangi bir varış havalimanına ulaşan yol geçerli.
+     * Toplam süreye, sonra toplam fiyata göre sıralı.
+     */
+    public List<List<FlightView>> search(Collection<String> origins, Collection<String> destinations, LocalDate date) {
+        if (maxStops < 1 || !flightInventoryIndex.isLoaded()) return List.of();
+
+        Set<String> targets = normalize(destinations);
+        long deadline = System.nanoTime() + budgetNanos;
+        List<List<FlightView>> found = new ArrayList<>();
+
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+
+        for (String origin : normalize(origins)) {
+            if (targets.contains(origin)) continue;
+
+            for (String hub : flightInventoryIndex.destinationsFrom(origin)) {
+                if (targets.contains(hub)) continue; // direkt uçuşlar normal aramada
+
+                for (FlightView first : flightInventoryIndex.findDepartures(origin, hub, start, end)) {
+                    if (System.nanoTime() > deadline) return rank(found);
+
+                    List<FlightView> path = new ArrayList<>();
+                    path.add(first);
+                    extend(path, targets, first.departureTime().plus(maxTotalDuration), found, deadline);
+                }
+            }
+        }
+
+        return rank(found);
+    }
+
+    private void extend(
+            List<FlightView> path,
+            Set<String> targets,
+            LocalDateTime latestArrival,
+            List<List<FlightView>> found,
+            long deadline
+    ) {
+        FlightView last = path.get(path.size() - 1);
+        if (last.arrivalTime() == null || last.arrivalTime().isAfter(latestArrival)) return;
+
+        int stopsSoFar = path.size() - 1;
+        LocalDateTime earliest = last.arrivalTime().plus(minConnection);
+        if (earliest.isAfter(latestArrival)) return; // aktarma süresi pencereye sığmıyor
+        String here = last.to().toUpperCase(Locale.ROOT);
+
+        // Son bacak: sadece hedefe giden uçuşlar
+        for (String destination : targets) {
+            for (FlightView next : flightInventoryIndex.findDepartures(here, destination, earliest, latestArrival)) {
+                if (next.arrivalTime() == null || next.arrivalTime().isAfter(latestArrival)) continue;
+                List<FlightView> itinerary = new ArrayList<>(path);
+                itinerary.add(next);
+                found.add(List.copyOf(itinerary));
+            }
+        }
+
+        if (stopsSoFar + 1 >= maxStops) return;
+
+        for (String hub : flightInventoryIndex.destinationsFrom(here)) {
+            if (targets.contains(hub) || visited(path, hub)) continue;
+
+            for (FlightView next : flightInventoryIndex.findDepartures(here, hub, earliest, latestArrival)) {
+                if (System.nanoTime() > deadline) return;
+
+                path.add(next);
+                extend(path, targets, latestArrival, found, deadline);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static Set<String> normalize(Collection<String> codes) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String c : codes) out.add(c.trim().toUpperCase(Locale.ROOT));
+        return out;
+    }
+
+    private boolean visited(List<FlightView> path, String airportCode) {
+        if (path.get(0).from().equalsIgnoreCase(airportCode)) return true;
+        for (FlightView f : path) {
+            if (f.to().equalsIgnoreCase(airportCode)) return true;
+        }
+        return false;
+    }
+
+    private List<List<FlightView>> rank(List<List<FlightView>> itineraries) {
+        return itineraries.stream()
+                .sorted(Comparator
+                        .comparing(ConnectionSearchService::totalDuration)
+                        .thenComparingDouble(ConnectionSearchService::totalPrice))
+                .limit(maxResults)
+                .toList();
+    }
+
+    public static Duration totalDuration(List<FlightView> itinerary) {
+        return Duration.between(
+                itinerary.get(0).departureTime(),
+                itinerary.get(itinerary.size() - 1).arrivalTime()
+        );
+    }
+
+    public static double totalPrice(List<FlightView> itinerary) {
+        double total = 0;
+        for (FlightView f : itinerary) total += f.basePrice();
+        return total;
+    }
+}
@@ -0,0 +1,104 @@
+package com.merve.flight_booking.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Akış halinde (satır satır, tüm dosyayı belleğe almadan) RFC 4180 CSV okuyucu.
+ * - Tırnaklı alan, "" kaçışı ve tırnak içinde satır sonu desteklenir
+ * - Ayraç ',' ya da ';' (başlık satırından otomatik seçilir)
+ */
+final class CsvRecordReader implements AutoCloseable {
+
+    private final Reader reader;
+    private char delimiter;
+    private int peeked = -2;
+    private long recordNumber;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Sıradaki kayıt; dosya bittiyse null. Boş satırlar atlanır.
+     */
+    List<String> next() throws IOException {
+        while (true) {
+            List<String> record = readRecord();
+            if (record == null) return null;
+            if (record.size() == 1 && record.get(0).isBlank()) continue;
+
+            recordNumber++;
+            return record;
+        }
+    }
+
+    // 1'den başlar (başlık = 1)
+    long recordNumber() {
+        return recordNumber;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) throw new IOException("Unterminated quoted field near record " + (recordNumber + 1));
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') read();
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (isDelimiter((char) c)) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // İlk kaydın ilk ayracı dosyanın ayracı kabul edilir
+    private boolean isDelimiter(char c) {
+        if (delimiter == 0 && (c == ',' || c == ';')) delimiter = c;
+        return c == delimiter;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) peeked = reader.read();
+        return peeked;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
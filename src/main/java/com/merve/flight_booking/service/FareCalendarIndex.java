@@ -0,0 +1,134 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.FareCalendarDay;
+import com.merve.flight_booking.dto.FlightView;
+import com.merve.flight_booking.event.FareTypesChangedEvent;
+import com.merve.flight_booking.event.FlightChangedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Rota başına günlük en düşük fiyat (basePrice + en ucuz fare type) özeti.
+ * - Startup'ta FlightInventoryIndex'ten tek geçişte kurulur
+ * - Uçuş create/delete olduğunda sadece etkilenen (rota, gün) yeniden hesaplanır
+ * - Fare type'lar değişince (FareTypesChangedEvent) tamamı yeniden kurulur
+ */
+@Component
+public class FareCalendarIndex {
+
+    private record DayFare(double lowestFare, int flightCount) {}
+
+    private final FlightInventoryIndex flightInventoryIndex;
+    private final FareTypeService fareTypeService;
+
+    // "IST-ESB" -> gün -> en düşük fiyat
+    private volatile Map<String, NavigableMap<LocalDate, DayFare>> routes = new ConcurrentHashMap<>();
+
+    public FareCalendarIndex(FlightInventoryIndex flightInventoryIndex, FareTypeService fareTypeService) {
+        this.flightInventoryIndex = flightInventoryIndex;
+        this.fareTypeService = fareTypeService;
+    }
+
+    // FlightInventoryIndex (Order 0) yüklendikten sonra
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(10)
+    public synchronized void rebuild() {
+        Map<String, NavigableMap<LocalDate, DayFare>> next = new ConcurrentHashMap<>();
+
+        for (FlightView f : flightInventoryIndex.all()) {
+            DayFare fare = new DayFare(fareOf(f), 1);
+            next.computeIfAbsent(routeKey(f.from(), f.to()), k -> new ConcurrentSkipListMap<>())
+                    .merge(f.departureTime().toLocalDate(), fare, (a, b) -> new DayFare(
+                            Math.min(a.lowestFare(), b.lowestFare()),
+                            a.flightCount() + b.flightCount()
+                    ));
+        }
+
+        routes = next;
+    }
+
+    // FareTypeService cache'i (Order 0) yenilendikten sonra
+    @EventListener(FareTypesChangedEvent.class)
+    @Order(10)
+    public void onFareTypesChanged() {
+        rebuild();
+    }
+
+    @EventListener
+    @Order(10)
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        if (event.previous() != null) recompute(event.previous());
+        if (event.current() != null) recompute(event.current());
+    }
+
+    /**
+     * [start, end] aralığındaki her gün için en düşük fiyat; uçuş olmayan günlerde lowestFare = null.
+     * Uçlar metro olabilir: tüm havalimanı çiftlerinin o günkü en düşüğü alınır, uçuş sayıları toplanır.
+     */
+    public List<FareCalendarDay> calendar(Collection<String> froms, Collection<String> tos, LocalDate start, LocalDate end) {
+        List<NavigableMap<LocalDate, DayFare>> pairs = new ArrayList<>();
+        for (String from : froms) {
+            for (String to : tos) {
+                NavigableMap<LocalDate, DayFare> route = routes.get(routeKey(from, to));
+                if (route != null) pairs.add(route);
+            }
+        }
+
+        List<FareCalendarDay> days = new ArrayList<>();
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            DayFare fare = null;
+            for (NavigableMap<LocalDate, DayFare> route : pairs) {
+                DayFare f = route.get(d);
+                if (f == null) continue;
+                fare = fare == null ? f : new DayFare(
+                        Math.min(fare.lowestFare(), f.lowestFare()),
+                        fare.flightCount() + f.flightCount()
+                );
+            }
+            days.add(fare == null
+                    ? new FareCalendarDay(d, null, 0)
+                    : new FareCalendarDay(d, fare.lowestFare(), fare.flightCount()));
+        }
+        return days;
+    }
+
+    // İndeks zaten güncel olduğu için o günün uçuşlarını oradan okuyup özeti tazeliyoruz
+    private void recompute(FlightView f) {
+        LocalDate day = f.departureTime().toLocalDate();
+        String key = routeKey(f.from(), f.to());
+
+        List<FlightView> flights = flightInventoryIndex.findDepartures(
+                f.from(), f.to(), day.atStartOfDay(), day.plusDays(1).atStartOfDay()
+        );
+
+        NavigableMap<LocalDate, DayFare> route = routes.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>());
+        if (flights.isEmpty()) {
+            route.remove(day);
+            return;
+        }
+
+        double lowest = Double.MAX_VALUE;
+        for (FlightView x : flights) lowest = Math.min(lowest, fareOf(x));
+        route.put(day, new DayFare(lowest, flights.size()));
+    }
+
+    private double fareOf(FlightView f) {
+        return f.basePrice() + fareTypeService.cheapestExtraPrice(f.airlineId());
+    }
+
+    private static String routeKey(String from, String to) {
+        return from.trim().toUpperCase(Locale.ROOT) + "-" + to.trim().toUpperCase(Locale.ROOT);
+    }
+}
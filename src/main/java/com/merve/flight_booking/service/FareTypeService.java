@@ -1,27 +1,50 @@
 package com.merve.flight_booking.service;
 
 import com.merve.flight_booking.dto.FareOptionResponse;
+import com.merve.flight_booking.dto.FlightView;
 import com.merve.flight_booking.entity.AirlineFareType;
 import com.merve.flight_booking.entity.Flight;
+import com.merve.flight_booking.event.FareTypesChangedEvent;
 import com.merve.flight_booking.repository.AirlineFareTypeRepository;
 import com.merve.flight_booking.repository.FlightRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class FareTypeService {
 
+    static final int MAX_BATCH_IDS = 100;
+
     private final AirlineFareTypeRepository airlineFareTypeRepository;
     private final FlightRepository flightRepository;
+    private final FlightInventoryIndex flightInventoryIndex;
+
+    // airlineId -> en ucuz fare type (referans veri, nadiren değişir)
+    private volatile Map<Long, CheapestFare> cheapestFareByAirline;
 
     public FareTypeService(
             AirlineFareTypeRepository airlineFareTypeRepository,
-            FlightRepository flightRepository
+            FlightRepository flightRepository,
+            FlightInventoryIndex flightInventoryIndex
     ) {
         this.airlineFareTypeRepository = airlineFareTypeRepository;
         this.flightRepository = flightRepository;
+        this.flightInventoryIndex = flightInventoryIndex;
     }
 
     public List<FareOptionResponse> getFareOptionsForFlight(Long flightId) {
@@ -37,19 +60,106 @@ public class FareTypeService {
 
         return fareTypes.stream()
                 .sorted(Comparator.comparing(af -> af.getFareType().getName()))
-                .map(af -> {
-                    FareOptionResponse dto = new FareOptionResponse();
+                .map(af -> toDto(af, basePrice))
+                .toList();
+    }
 
+    /**
+     * Birden fazla uçuş için fare options
+     * - Sonuçtaki tüm havayolları tek sorguda çözülür
+     * - flightId -> fiyatlandırılmış liste
+     */
+    public Map<Long, List<FareOptionResponse>> getFareOptionsForFlights(Collection<FlightView> flights) {
+        Set<Long> airlineIds = new HashSet<>();
+        for (FlightView f : flights) {
+            if (f.airlineId() != null) airlineIds.add(f.airlineId());
+        }
+        if (airlineIds.isEmpty()) return Map.of();
 
-                    dto.setAirlineFareTypeId(af.getId());
+        Map<Long, List<AirlineFareType>> byAirline = airlineFareTypeRepository.findByAirlineIdIn(airlineIds)
+                .stream()
+                .sorted(Comparator.comparing(af -> af.getFareType().getName()))
+                .collect(Collectors.groupingBy(af -> af.getAirline().getId()));
 
-                    dto.setFareType(af.getFareType().getName());
-                    dto.setIncludedBaggageKg(af.getIncludedBaggageKg());
-                    dto.setExtraPrice(af.getExtraPrice());
-                    dto.setTotalPrice(basePrice + af.getExtraPrice());
+        Map<Long, List<FareOptionResponse>> result = new LinkedHashMap<>();
+        for (FlightView f : flights) {
+            List<AirlineFareType> fareTypes = byAirline.getOrDefault(f.airlineId(), List.of());
+            result.put(f.id(), fareTypes.stream().map(af -> toDto(af, f.basePrice())).toList());
+        }
+        return result;
+    }
 
-                    return dto;
-                })
-                .toList();
+    // ids: /api/flights/fare-options?ids=1,2,3
+    // - En fazla MAX_BATCH_IDS uçuş; indekste olmayanlar tek IN sorgusuyla yüklenir
+    public Map<Long, List<FareOptionResponse>> getFareOptionsForFlightIds(List<Long> flightIds) {
+        Set<Long> ids = new LinkedHashSet<>(flightIds);
+        ids.remove(null);
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_IDS + " flight ids are allowed");
+        }
+
+        Map<Long, FlightView> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            flightInventoryIndex.findById(id).ifPresentOrElse(f -> found.put(id, f), () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            for (FlightView f : flightRepository.findViewsByIdIn(missing)) found.put(f.id(), f);
+        }
+
+        // İstek sırası korunur
+        List<FlightView> flights = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            FlightView f = found.get(id);
+            if (f != null) flights.add(f);
+        }
+        return getFareOptionsForFlights(flights);
+    }
+
+    private FareOptionResponse toDto(AirlineFareType af, double basePrice) {
+        FareOptionResponse dto = new FareOptionResponse();
+
+        dto.setAirlineFareTypeId(af.getId());
+
+        dto.setFareType(af.getFareType().getName());
+        dto.setIncludedBaggageKg(af.getIncludedBaggageKg());
+        dto.setExtraPrice(af.getExtraPrice());
+        dto.setTotalPrice(basePrice + af.getExtraPrice());
+
+        return dto;
+    }
+
+    // Havayolunun en ucuz fare type'ı (kombinasyon fiyatlamada kullanılır)
+    public record CheapestFare(Long airlineFareTypeId, String fareType, double extraPrice) {}
+
+    /**
+     * Havayolunun en ucuz fare type ek ücreti; fare type tanımı yoksa 0.
+     */
+    public double cheapestExtraPrice(Long airlineId) {
+        CheapestFare fare = cheapestFare(airlineId);
+        return fare == null ? 0 : fare.extraPrice();
+    }
+
+    public CheapestFare cheapestFare(Long airlineId) {
+        if (airlineId == null) return null;
+
+        Map<Long, CheapestFare> cache = cheapestFareByAirline;
+        if (cache == null) {
+            cache = reloadFareCache();
+        }
+        return cache.get(airlineId);
+    }
+
+    // FareCalendarIndex (Order 10) bu cache'ten okuyarak yeniden kurulur
+    @EventListener(FareTypesChangedEvent.class)
+    @Order(0)
+    public synchronized Map<Long, CheapestFare> reloadFareCache() {
+        Map<Long, CheapestFare> next = new HashMap<>();
+        for (AirlineFareType af : airlineFareTypeRepository.findAllWithFareType()) {
+            CheapestFare candidate = new CheapestFare(af.getId(), af.getFareType().getName(), af.getExtraPrice());
+            next.merge(af.getAirline().getId(), candidate, (a, b) -> b.extraPrice() < a.extraPrice() ? b : a);
+        }
+        cheapestFareByAirline = Map.copyOf(next);
+        return cheapestFareByAirline;
     }
 }
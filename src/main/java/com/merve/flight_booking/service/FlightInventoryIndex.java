@@ -0,0 +1,182 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.FlightView;
+import com.merve.flight_booking.entity.Flight;
+import com.merve.flight_booking.event.FlightChangedEvent;
+import com.merve.flight_booking.repository.FlightRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Uçuş envanterinin bellek içi indeksi.
+ * - (from, to) rotası başına kalkış saatine göre sıralı NavigableMap
+ * - Startup'ta tek seferde yüklenir, admin create/delete ile güncellenir
+ * - Okumalar kilitsiz, yazmalar (nadir) synchronized
+ */
+@Component
+public class FlightInventoryIndex {
+
+    // Aynı saatte kalkan birden fazla uçuş olabileceği için id ile tekilleştiriyoruz
+    private record Slot(LocalDateTime departureTime, long flightId) implements Comparable<Slot> {
+        @Override
+        public int compareTo(Slot o) {
+            int c = departureTime.compareTo(o.departureTime);
+            return c != 0 ? c : Long.compare(flightId, o.flightId);
+        }
+    }
+
+    private static final class Inventory {
+        final Map<String, Map<String, NavigableMap<Slot, FlightView>>> routes = new ConcurrentHashMap<>();
+        final Map<Long, FlightView> byId = new ConcurrentHashMap<>();
+
+        void add(FlightView f) {
+            routes.computeIfAbsent(key(f.from()), k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key(f.to()), k -> new ConcurrentSkipListMap<>())
+                    .put(slotOf(f), f);
+            byId.put(f.id(), f);
+        }
+
+        void remove(FlightView f) {
+            byId.remove(f.id());
+            Map<String, NavigableMap<Slot, FlightView>> byTo = routes.get(key(f.from()));
+            if (byTo == null) return;
+            NavigableMap<Slot, FlightView> route = byTo.get(key(f.to()));
+            if (route == null) return;
+            route.remove(slotOf(f));
+            if (route.isEmpty()) byTo.remove(key(f.to()));
+            if (byTo.isEmpty()) routes.remove(key(f.from()));
+        }
+    }
+
+    private final FlightRepository flightRepository;
+
+    // null => henüz yüklenmedi (çağıranlar DB'ye düşer)
+    private volatile Inventory inventory;
+
+    public FlightInventoryIndex(FlightRepository flightRepository) {
+        this.flightRepository = flightRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void onStartup() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        Inventory next = new Inventory();
+        for (FlightView v : flightRepository.findAllViews()) {
+            next.add(v);
+        }
+        inventory = next;
+    }
+
+    @EventListener
+    @Order(0)
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        Inventory inv = inventory;
+        if (inv == null) return;
+
+        if (event.previous() != null) inv.remove(event.previous());
+        if (event.current() != null) inv.add(event.current());
+    }
+
+    public boolean isLoaded() {
+        return inventory != null;
+    }
+
+    /**
+     * [start, end) aralığında kalkan uçuşlar, kalkış saatine göre sıralı.
+     * Aralık boşsa (start >= end) boş liste; subMap from > to'da patlar.
+     */
+    public List<FlightView> findDepartures(String from, String to, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) return List.of();
+        NavigableMap<Slot, FlightView> route = route(from, to);
+        if (route == null) return List.of();
+
+        return List.copyOf(route
+                .subMap(new Slot(start, Long.MIN_VALUE), true, new Slot(end, Long.MIN_VALUE), false)
+                .values());
+    }
+
+    // Rotadaki en geç kalkış; rota boşsa null
+    public LocalDateTime latestDeparture(String from, String to) {
+        NavigableMap<Slot, FlightView> route = route(from, to);
+        if (route == null || route.isEmpty()) return null;
+        return route.lastKey().departureTime();
+    }
+
+    public Optional<FlightView> findById(Long flightId) {
+        Inventory inv = inventory;
+        if (inv == null || flightId == null) return Optional.empty();
+        return Optional.ofNullable(inv.byId.get(flightId));
+    }
+
+    public List<FlightView> all() {
+        Inventory inv = inventory;
+        return inv == null ? List.of() : List.copyOf(inv.byId.values());
+    }
+
+    public Set<String> destinationsFrom(String from) {
+        Inventory inv = inventory;
+        if (inv == null) return Set.of();
+        Map<String, NavigableMap<Slot, FlightView>> byTo = inv.routes.get(key(from));
+        return byTo == null ? Set.of() : Set.copyOf(byTo.keySet());
+    }
+
+    // destinationsFrom'un kopyasız hali (sıralama karşılaştırıcılarında kullanılır)
+    public boolean hasDepartures(String from) {
+        Inventory inv = inventory;
+        if (inv == null) return false;
+        Map<String, NavigableMap<Slot, FlightView>> byTo = inv.routes.get(key(from));
+        return byTo != null && !byTo.isEmpty();
+    }
+
+    private NavigableMap<Slot, FlightView> route(String from, String to) {
+        Inventory inv = inventory;
+        if (inv == null) return null;
+        Map<String, NavigableMap<Slot, FlightView>> byTo = inv.routes.get(key(from));
+        return byTo == null ? null : byTo.get(key(to));
+    }
+
+    private static String key(String airportCode) {
+        return airportCode == null ? "" : airportCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Slot slotOf(FlightView f) {
+        return new Slot(f.departureTime(), f.id());
+    }
+
+    // Havalimanı / saat bilgisi eksik kayıtlar rotaya yerleştirilemez
+    public static FlightView toView(Flight f) {
+        if (f.getDepartureAirport() == null || f.getArrivalAirport() == null || f.getDepartureTime() == null) {
+            return null;
+        }
+        return new FlightView(
+                f.getId(),
+                f.getFlightNumber(),
+                f.getAirline() != null ? f.getAirline().getId() : null,
+                f.getAirline() != null ? f.getAirline().getCode() : null,
+                f.getAirline() != null ? f.getAirline().getName() : null,
+                f.getDepartureAirport().getId(),
+                f.getDepartureAirport().getCode(),
+                f.getArrivalAirport().getId(),
+                f.getArrivalAirport().getCode(),
+                f.getDepartureTime(),
+                f.getArrivalTime(),
+                f.getBasePrice()
+        );
+    }
+}
@@ -0,0 +1,138 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.FlightSearchOptions;
+import com.merve.flight_booking.dto.FlightView;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Arama sonuçlarında sunucu tarafı filtre + sıralama + keyset sayfalama.
+ * Sıralama her zaman (anahtar, flightId) olduğu için sayfalar arası sıra stabil.
+ * Cursor: base64url("sort:anahtar:flightId"), istemci için opak.
+ */
+final class FlightResultPager {
+
+    record Page(List<FlightView> flights, String nextCursor) {}
+
+    private enum SortKey {
+        PRICE(FlightView::basePrice),
+        DEPARTURE(f -> f.departureTime().toEpochSecond(ZoneOffset.UTC)),
+        DURATION(f -> f.arrivalTime() == null ? 0 : Duration.between(f.departureTime(), f.arrivalTime()).toMinutes());
+
+        final ToDoubleFunction<FlightView> extractor;
+
+        SortKey(ToDoubleFunction<FlightView> extractor) {
+            this.extractor = extractor;
+        }
+
+        static SortKey of(String sort) {
+            if (sort == null || sort.isBlank()) return DEPARTURE;
+            try {
+                return valueOf(sort.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort: " + sort);
+            }
+        }
+    }
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private FlightResultPager() {}
+
+    static List<FlightView> filterAndSort(List<FlightView> flights, FlightSearchOptions options) {
+        SortKey sort = SortKey.of(options.getSort());
+
+        Set<String> airlines = options.getAirlines() == null ? Set.of() : options.getAirlines().stream()
+                .filter(a -> a != null && !a.isBlank())
+                .map(a -> a.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        return flights.stream()
+                .filter(f -> airlines.isEmpty()
+                        || (f.airlineCode() != null && airlines.contains(f.airlineCode().toUpperCase(Locale.ROOT))))
+                .filter(f -> options.getMaxPrice() == null || f.basePrice() <= options.getMaxPrice())
+                .filter(f -> inWindow(f.departureTime().toLocalTime(), options.getDepartureAfter(), options.getDepartureBefore()))
+                .sorted(comparator(sort))
+                .toList();
+    }
+
+    static Page page(List<FlightView> sorted, FlightSearchOptions options, String cursor) {
+        if (options.getPageSize() == null) return new Page(sorted, null);
+
+        SortKey sort = SortKey.of(options.getSort());
+        int size = Math.min(Math.max(options.getPageSize(), 1), MAX_PAGE_SIZE);
+
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            Position after = decode(cursor, sort);
+            // keyset: (anahtar, id) > cursor olan ilk kayıt (liste sıralı -> binary search)
+            int lo = 0;
+            int hi = sorted.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (isAfter(sorted.get(mid), sort, after)) hi = mid;
+                else lo = mid + 1;
+            }
+            from = lo;
+        }
+
+        int to = Math.min(from + size, sorted.size());
+        List<FlightView> page = sorted.subList(from, to);
+
+        String next = to < sorted.size() && !page.isEmpty()
+                ? encode(sort, page.get(page.size() - 1))
+                : null;
+
+        return new Page(List.copyOf(page), next);
+    }
+
+    // after > before ise gece yarısını saran pencere (ör. 22:00 - 06:00)
+    private static boolean inWindow(LocalTime t, LocalTime after, LocalTime before) {
+        if (after == null && before == null) return true;
+        if (after == null) return t.isBefore(before);
+        if (before == null) return !t.isBefore(after);
+        if (!after.isAfter(before)) return !t.isBefore(after) && t.isBefore(before);
+        return !t.isBefore(after) || t.isBefore(before);
+    }
+
+    private static Comparator<FlightView> comparator(SortKey sort) {
+        return Comparator.comparingDouble(sort.extractor).thenComparing(FlightView::id);
+    }
+
+    private record Position(double key, long flightId) {}
+
+    private static boolean isAfter(FlightView f, SortKey sort, Position p) {
+        int c = Double.compare(sort.extractor.applyAsDouble(f), p.key());
+        return c > 0 || (c == 0 && f.id() > p.flightId());
+    }
+
+    private static String encode(SortKey sort, FlightView last) {
+        String raw = sort.name() + ":" + sort.extractor.applyAsDouble(last) + ":" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decode(String cursor, SortKey sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new Position(Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
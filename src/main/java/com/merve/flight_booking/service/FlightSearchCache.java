@@ -0,0 +1,120 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.FlightView;
+import com.merve.flight_booking.event.FlightChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tek yön (from, to, gün) arama sonuçları için sınırlı cache.
+ * - TTL + boyut sınırı
+ * - Aynı anahtar için eşzamanlı miss'ler tek yüklemede birleşir (coalescing)
+ * - Uçuş create/delete olduğunda sadece etkilenen rota/gün silinir
+ */
+@Component
+public class FlightSearchCache {
+
+    private record Key(String from, String to, LocalDate date) {}
+
+    private record Entry(CompletableFuture<List<FlightView>> value, long expiresAtNanos) {
+        boolean isFresh(long now) {
+            return expiresAtNanos - now > 0;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    public FlightSearchCache(
+            @Value("${app.search.cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${app.search.cache.max-entries:10000}") int maxEntries
+    ) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.maxEntries = maxEntries;
+    }
+
+    public List<FlightView> get(String from, String to, LocalDate date, Supplier<List<FlightView>> loader) {
+        Key key = key(from, to, date);
+        long now = System.nanoTime();
+
+        Entry cached = entries.get(key);
+        if (cached != null && cached.isFresh(now)) return join(cached);
+
+        // Yüklemeyi ilk gelen üstlenir, diğerleri aynı future'ı bekler
+        CompletableFuture<List<FlightView>> mine = new CompletableFuture<>();
+        Entry fresh = new Entry(mine, now + ttlNanos);
+        Entry winner = entries.compute(key, (k, old) -> old != null && old.isFresh(now) ? old : fresh);
+        if (winner != fresh) return join(winner);
+
+        try {
+            mine.complete(loader.get());
+        } catch (Throwable e) {
+            // Error dahil: future tamamlanmazsa bekleyenler sonsuza kadar kalır
+            entries.remove(key, fresh);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+
+        if (entries.size() > maxEntries) evict();
+        return mine.join();
+    }
+
+    // FlightInventoryIndex (Order 0) güncellendikten sonra
+    @EventListener
+    @Order(20)
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.previous() != null) invalidate(event.previous());
+        if (event.current() != null) invalidate(event.current());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void invalidate(FlightView f) {
+        entries.remove(key(f.from(), f.to(), f.departureTime().toLocalDate()));
+    }
+
+    // Önce süresi dolanlar, hâlâ fazlaysa en eskiler
+    private synchronized void evict() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> !e.getValue().isFresh(now));
+
+        int overflow = entries.size() - maxEntries;
+        if (overflow <= 0) return;
+
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtNanos()))
+                .limit(overflow + maxEntries / 10)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+
+    private static List<FlightView> join(Entry entry) {
+        try {
+            return entry.value().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private static Key key(String from, String to, LocalDate date) {
+        return new Key(from.trim().toUpperCase(Locale.ROOT), to.trim().toUpperCase(Locale.ROOT), date);
+    }
+}
@@ -1,77 +1,429 @@
 package com.merve.flight_booking.service;
 
+import com.merve.flight_booking.dto.AirportDto;
+import com.merve.flight_booking.dto.FareCalendarResponse;
+import com.merve.flight_booking.dto.FareOptionResponse;
+import com.merve.flight_booking.dto.FlightCombinationResponse;
+import com.merve.flight_booking.dto.FlightSearchOptions;
 import com.merve.flight_booking.dto.FlightSearchResponse;
+import com.merve.flight_booking.dto.FlightView;
+import com.merve.flight_booking.dto.ItineraryResponse;
+import com.merve.flight_booking.dto.MultiCityLegRequest;
+import com.merve.flight_booking.dto.MultiCityRequest;
+import com.merve.flight_booking.dto.MultiCityResponse;
+import com.merve.flight_booking.dto.NearbyAirportDto;
 import com.merve.flight_booking.dto.RoundTripFlightResponse;
-import com.merve.flight_booking.entity.Flight;
 import com.merve.flight_booking.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class FlightService {
 
     private final FlightRepository flightRepository;
+    private final FlightInventoryIndex flightInventoryIndex;
+    private final ConnectionSearchService connectionSearchService;
+    private final FareCalendarIndex fareCalendarIndex;
+    private final FareTypeService fareTypeService;
+    private final FlightSearchCache flightSearchCache;
+    private final RoundTripCombiner roundTripCombiner;
+    private final ExecutorService searchExecutor;
+    private final AirportCatalog airportCatalog;
+    private final AirportGeoIndex airportGeoIndex;
+    private final long multiCityTimeoutNanos;
 
-    public FlightService(FlightRepository flightRepository) {
+    private static final int MAX_CALENDAR_DAYS = 31;
+    private static final int MAX_COMBINATIONS = 50;
+    private static final int MAX_MULTI_CITY_LEGS = 6;
+    private static final int BEAM_FACTOR = 5;
+    private static final double DEFAULT_NEARBY_RADIUS_KM = 100;
+    private static final double MAX_NEARBY_RADIUS_KM = 300;
+
+    public FlightService(
+            FlightRepository flightRepository,
+            FlightInventoryIndex flightInventoryIndex,
+            ConnectionSearchService connectionSearchService,
+            FareCalendarIndex fareCalendarIndex,
+            FareTypeService fareTypeService,
+            FlightSearchCache flightSearchCache,
+            RoundTripCombiner roundTripCombiner,
+            @Qualifier("searchExecutor") ExecutorService searchExecutor,
+            AirportCatalog airportCatalog,
+            AirportGeoIndex airportGeoIndex,
+            @Value("${app.search.multi-city.timeout-ms:2000}") long multiCityTimeoutMs
+    ) {
         this.flightRepository = flightRepository;
+        this.flightInventoryIndex = flightInventoryIndex;
+        this.connectionSearchService = connectionSearchService;
+        this.fareCalendarIndex = fareCalendarIndex;
+        this.fareTypeService = fareTypeService;
+        this.flightSearchCache = flightSearchCache;
+        this.roundTripCombiner = roundTripCombiner;
+        this.searchExecutor = searchExecutor;
+        this.airportCatalog = airportCatalog;
+        this.airportGeoIndex = airportGeoIndex;
+        this.multiCityTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(multiCityTimeoutMs);
     }
 
     public RoundTripFlightResponse searchFlights(
             String from,
             String to,
             LocalDate departureDate,
-            LocalDate returnDate
+            LocalDate returnDate,
+            FlightSearchOptions options
     ) {
 
         from = from.toUpperCase();
         to = to.toUpperCase();
 
-        // === GİDİŞ ===
-        LocalDateTime depStart = departureDate.atStartOfDay();
-        LocalDateTime depEnd = departureDate.plusDays(1).atStartOfDay();
+        Double nearbyRadiusKm = options.isIncludeNearby()
+                ? Math.min(MAX_NEARBY_RADIUS_KM, Math.max(0,
+                        options.getNearbyRadiusKm() != null ? options.getNearbyRadiusKm() : DEFAULT_NEARBY_RADIUS_KM))
+                : null;
 
-        List<FlightSearchResponse> outbound =
-                flightRepository.searchFlights(from, to, depStart, depEnd)
-                        .stream()
-                        .map(this::toDto)
-                        .toList();
+        // === GİDİŞ ===
+        List<FlightView> outboundAll = FlightResultPager.filterAndSort(
+                searchLeg(from, to, departureDate, nearbyRadiusKm), options);
+        FlightResultPager.Page outbound = FlightResultPager.page(outboundAll, options, options.getCursor());
 
         // === DÖNÜŞ ===
-        List<FlightSearchResponse> inbound = List.of();
+        List<FlightView> inboundAll = List.of();
+        FlightResultPager.Page inbound = new FlightResultPager.Page(List.of(), null);
 
         if (returnDate != null) {
-            LocalDateTime retStart = returnDate.atStartOfDay();
-            LocalDateTime retEnd = returnDate.plusDays(1).atStartOfDay();
+            inboundAll = FlightResultPager.filterAndSort(searchLeg(to, from, returnDate, nearbyRadiusKm), options);
+            inbound = FlightResultPager.page(inboundAll, options, options.getReturnCursor());
+        }
 
-            inbound =
-                    flightRepository.searchFlights(to, from, retStart, retEnd)
-                            .stream()
-                            .map(this::toDto)
-                            .toList();
+        // === FARE OPTIONS (opsiyonel, sadece bu sayfadakiler için tek sorgu) ===
+        Map<Long, List<FareOptionResponse>> fares = null;
+        if (options.isIncludeFares()) {
+            List<FlightView> all = new ArrayList<>(outbound.flights());
+            all.addAll(inbound.flights());
+            fares = fareTypeService.getFareOptionsForFlights(all);
         }
 
         RoundTripFlightResponse response = new RoundTripFlightResponse();
-        response.setOutboundFlights(outbound);
-        response.setReturnFlights(inbound);
+        response.setOutboundFlights(toDtos(outbound.flights(), fares));
+        response.setReturnFlights(toDtos(inbound.flights(), fares));
+        response.setOutboundNextCursor(outbound.nextCursor());
+        response.setReturnNextCursor(inbound.nextCursor());
+
+        // === KOMBİNASYONLAR (top-K, çapraz çarpım yok) ===
+        if (returnDate != null && options.getCombinations() != null && options.getCombinations() > 0) {
+            int k = Math.min(options.getCombinations(), MAX_COMBINATIONS);
+            RoundTripCombiner.Objective objective = "duration".equalsIgnoreCase(options.getCombinationSort())
+                    ? RoundTripCombiner.Objective.DURATION
+                    : RoundTripCombiner.Objective.PRICE;
+
+            response.setCombinations(roundTripCombiner.topK(outboundAll, inboundAll, k, objective)
+                    .stream()
+                    .map(this::toCombination)
+                    .toList());
+        }
+
+        // === AKTARMALI ===
+        if (options.isIncludeConnections()) {
+            response.setOutboundConnections(searchConnections(from, to, departureDate));
+            response.setReturnConnections(
+                    returnDate != null ? searchConnections(to, from, returnDate) : List.of()
+            );
+        }
 
         return response;
     }
 
 
-    private FlightSearchResponse toDto(Flight f) {
+    /**
+     * Multi-city arama
+     * - Bacaklar searchExecutor üzerinde paralel aranır (toplam süre ≈ en yavaş bacak)
+     * - Tüm istek tek bir deadline'a tabi; aşılırsa 504
+     * - Havuz doluysa bacaklar istek thread'inde çalıştırılmaz; 503
+     * - Zincirleme: her bacak bir öncekinin varışından sonra kalkmalı (fiyata göre beam search)
+     */
+    public MultiCityResponse searchMultiCity(MultiCityRequest request) {
+        List<MultiCityLegRequest> legs = request.getLegs();
+        if (legs == null || legs.isEmpty() || legs.size() > MAX_MULTI_CITY_LEGS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_MULTI_CITY_LEGS + " legs are required");
+        }
+        for (MultiCityLegRequest leg : legs) {
+            if (leg.getFrom() == null || leg.getTo() == null || leg.getDate() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each leg needs from, to and date");
+            }
+        }
+
+        long deadline = System.nanoTime() + multiCityTimeoutNanos;
+
+        List<CompletableFuture<List<FlightView>>> futures = new ArrayList<>(legs.size());
+        try {
+            for (MultiCityLegRequest leg : legs) {
+                futures.add(CompletableFuture.supplyAsync(
+                        () -> searchLeg(leg.getFrom().toUpperCase(), leg.getTo().toUpperCase(), leg.getDate(), null),
+                        searchExecutor
+                ));
+            }
+        } catch (RejectedExecutionException e) {
+            // Havuz dolu: kuyruğa girenler de iptal, istek beklemeden düşer
+            futures.forEach(f -> f.cancel(true));
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search is busy, please retry");
+        }
+
+        List<List<FlightView>> options = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<FlightView>> f : futures) {
+                long remaining = deadline - System.nanoTime();
+                options.add(f.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Multi-city search timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Multi-city search interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+
+        int max = Math.min(
+                request.getMaxItineraries() == null ? 20 : Math.max(request.getMaxItineraries(), 1),
+                MAX_COMBINATIONS
+        );
+
+        MultiCityResponse response = new MultiCityResponse();
+        response.setLegOptions(options.stream().map(list -> list.stream().map(this::toDto).toList()).toList());
+        response.setItineraries(chainLegs(options, max).stream().map(this::toItinerary).toList());
+        return response;
+    }
+
+    // Her adımda en ucuz (max * BEAM_FACTOR) kısmi zinciri tutarak bacakları ekle
+    private List<List<FlightView>> chainLegs(List<List<FlightView>> options, int max) {
+        int beamWidth = max * BEAM_FACTOR;
+        Comparator<List<FlightView>> byPrice = Comparator.comparingDouble(ConnectionSearchService::totalPrice);
+
+        List<List<FlightView>> beam = options.get(0).stream()
+                .map(List::of)
+                .sorted(byPrice)
+                .limit(beamWidth)
+                .toList();
+
+        for (int leg = 1; leg < options.size() && !beam.isEmpty(); leg++) {
+            // indeks sonuçları kalkışa göre sıralı; varıştan sonraki ilk uçuşu binary search ile bul
+            List<FlightView> next = options.get(leg);
+            List<List<FlightView>> extended = new ArrayList<>();
+
+            for (List<FlightView> partial : beam) {
+                LocalDateTime arrival = partial.get(partial.size() - 1).arrivalTime();
+                for (int i = firstDepartureAfter(next, arrival); i < next.size(); i++) {
+                    List<FlightView> chain = new ArrayList<>(partial);
+                    chain.add(next.get(i));
+                    extended.add(chain);
+                }
+            }
+
+            beam = extended.stream().sorted(byPrice).limit(beamWidth).toList();
+        }
+
+        return beam.stream().limit(max).toList();
+    }
+
+    private static int firstDepartureAfter(List<FlightView> sortedByDeparture, LocalDateTime time) {
+        if (time == null) return 0;
+        int lo = 0;
+        int hi = sortedByDeparture.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedByDeparture.get(mid).departureTime().isAfter(time)) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Esnek tarih takvimi
+     * - month verilirse tüm ay
+     * - yoksa date ± days
+     */
+    public FareCalendarResponse fareCalendar(
+            String from,
+            String to,
+            LocalDate date,
+            Integer days,
+            YearMonth month
+    ) {
+        LocalDate start;
+        LocalDate end;
+
+        if (month != null) {
+            start = month.atDay(1);
+            end = month.atEndOfMonth();
+        } else if (date != null) {
+            int window = Math.min(Math.max(days == null ? 3 : days, 0), MAX_CALENDAR_DAYS / 2);
+            start = date.minusDays(window);
+            end = date.plusDays(window);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "date or month is required");
+        }
+
+        from = from.toUpperCase();
+        to = to.toUpperCase();
+
+        return new FareCalendarResponse(from, to, fareCalendarIndex.calendar(codes(from), codes(to), start, end));
+    }
+
+    /**
+     * Tek yön, tek gün. from/to IATA ya da metro kodu olabilir.
+     * - Tek havalimanı çifti: cache -> indeks (hazırsa) -> DB
+     * - Metro: indeks hazırsa çift başına (cache'li) bellek araması,
+     *   değilse tüm üye havalimanları için tek IN-list sorgusu
+     * nearbyRadiusKm verilirse her iki uç yarıçap içindeki havalimanlarıyla genişletilir.
+     * Sonuç kalkış saatine göre sıralı.
+     */
+    private List<FlightView> searchLeg(String from, String to, LocalDate date, Double nearbyRadiusKm) {
+        List<AirportDto> origins = withNearby(airportCatalog.resolve(from), nearbyRadiusKm);
+        List<AirportDto> destinations = withNearby(airportCatalog.resolve(to), nearbyRadiusKm);
+
+        if (origins.size() <= 1 && destinations.size() <= 1) {
+            // Tek üyeli metro da gerçek havalimanı koduyla aranır (indeks / cache IATA ile anahtarlı)
+            String o = origins.isEmpty() ? from : origins.get(0).code();
+            String d = destinations.isEmpty() ? to : destinations.get(0).code();
+            return flightSearchCache.get(o, d, date, () -> loadLeg(o, d, date));
+        }
+
+        if (!flightInventoryIndex.isLoaded()) {
+            return flightRepository.searchFlightsBetween(
+                    origins.stream().map(AirportDto::id).toList(),
+                    destinations.stream().map(AirportDto::id).toList(),
+                    date.atStartOfDay(),
+                    date.plusDays(1).atStartOfDay()
+            );
+        }
+
+        List<FlightView> merged = new ArrayList<>();
+        for (AirportDto o : origins) {
+            for (AirportDto d : destinations) {
+                if (o.id().equals(d.id())) continue;
+                merged.addAll(flightSearchCache.get(o.code(), d.code(), date, () -> loadLeg(o.code(), d.code(), date)));
+            }
+        }
+        merged.sort(Comparator.comparing(FlightView::departureTime).thenComparing(FlightView::id));
+        return merged;
+    }
+
+    // IATA ya da metro kodu -> havalimanı kodları; bilinmeyen kod olduğu gibi (sonuç boş döner)
+    private List<String> codes(String code) {
+        List<AirportDto> airports = airportCatalog.resolve(code);
+        if (airports.isEmpty()) return List.of(code);
+        return airports.stream().map(AirportDto::code).filter(Objects::nonNull).toList();
+    }
+
+    private List<AirportDto> withNearby(List<AirportDto> airports, Double radiusKm) {
+        if (radiusKm == null || radiusKm <= 0) return airports;
+
+        Map<Long, AirportDto> widened = new LinkedHashMap<>();
+        for (AirportDto a : airports) {
+            widened.put(a.id(), a);
+            if (a.latitude() == null || a.longitude() == null) continue;
+            for (NearbyAirportDto n : airportGeoIndex.nearby(a.latitude(), a.longitude(), radiusKm)) {
+                widened.putIfAbsent(n.airport().id(), n.airport());
+            }
+        }
+        return widened.size() == airports.size() ? airports : List.copyOf(widened.values());
+    }
+
+    private List<FlightView> loadLeg(String from, String to, LocalDate date) {
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+
+        if (flightInventoryIndex.isLoaded()) {
+            return flightInventoryIndex.findDepartures(from, to, start, end);
+        }
+
+        return flightRepository.searchFlights(from, to, start, end);
+    }
+
+    private List<FlightSearchResponse> toDtos(List<FlightView> flights, Map<Long, List<FareOptionResponse>> fares) {
+        return flights.stream()
+                .map(f -> {
+                    FlightSearchResponse dto = toDto(f);
+                    if (fares != null) {
+                        dto.setFareOptions(fares.getOrDefault(f.id(), List.of()));
+                    }
+                    return dto;
+                })
+                .toList();
+    }
+
+    private List<ItineraryResponse> searchConnections(String from, String to, LocalDate date) {
+        return connectionSearchService.search(codes(from), codes(to), date)
+                .stream()
+                .map(this::toItinerary)
+                .toList();
+    }
+
+    private FlightCombinationResponse toCombination(RoundTripCombiner.Combination c) {
+        FlightCombinationResponse dto = new FlightCombinationResponse();
+        dto.setOutbound(toDto(c.outbound()));
+        dto.setInbound(toDto(c.inbound()));
+
+        FareTypeService.CheapestFare outFare = fareTypeService.cheapestFare(c.outbound().airlineId());
+        if (outFare != null) {
+            dto.setOutboundAirlineFareTypeId(outFare.airlineFareTypeId());
+            dto.setOutboundFareType(outFare.fareType());
+        }
+        FareTypeService.CheapestFare retFare = fareTypeService.cheapestFare(c.inbound().airlineId());
+        if (retFare != null) {
+            dto.setReturnAirlineFareTypeId(retFare.airlineFareTypeId());
+            dto.setReturnFareType(retFare.fareType());
+        }
+
+        dto.setTotalPrice(c.totalPrice());
+        dto.setTotalDurationMinutes(c.totalDurationMinutes());
+        return dto;
+    }
+
+    private ItineraryResponse toItinerary(List<FlightView> segments) {
+        ItineraryResponse dto = new ItineraryResponse();
+        dto.setSegments(segments.stream().map(this::toDto).toList());
+        dto.setStops(segments.size() - 1);
+        dto.setDepartureTime(segments.get(0).departureTime());
+        dto.setArrivalTime(segments.get(segments.size() - 1).arrivalTime());
+        dto.setTotalDurationMinutes(ConnectionSearchService.totalDuration(segments).toMinutes());
+        dto.setTotalPrice(ConnectionSearchService.totalPrice(segments));
+        return dto;
+    }
+
+    private FlightSearchResponse toDto(FlightView f) {
         FlightSearchResponse dto = new FlightSearchResponse();
-        dto.setFlightId(f.getId());
-        dto.setFlightNumber(f.getFlightNumber());
-        dto.setAirlineCode(f.getAirline().getCode());
-        dto.setAirlineName(f.getAirline().getName());
-        dto.setFrom(f.getDepartureAirport().getCode());
-        dto.setTo(f.getArrivalAirport().getCode());
-        dto.setDepartureTime(f.getDepartureTime());
-        dto.setArrivalTime(f.getArrivalTime());
-        dto.setBasePrice(f.getBasePrice());
+        dto.setFlightId(f.id());
+        dto.setFlightNumber(f.flightNumber());
+        dto.setAirlineCode(f.airlineCode());
+        dto.setAirlineName(f.airlineName());
+        dto.setFrom(f.from());
+        dto.setTo(f.to());
+        dto.setDepartureTime(f.departureTime());
+        dto.setArrivalTime(f.arrivalTime());
+        dto.setBasePrice(f.basePrice());
         return dto;
     }
 
@@ -0,0 +1,193 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.GroupBookingRequest;
+import com.merve.flight_booking.dto.PassengerRequest;
+import com.merve.flight_booking.entity.*;
+import com.merve.flight_booking.repository.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tek booking + N yolcu (her biri kendi koltuk / yemek / bagajıyla) tek transaction'da.
+ * - Option'lar tür başına tek sorguyla (findAllById) yüklenir
+ * - Koltuklar SeatInventory bitset'inde tutulur; rollback olursa bırakılır
+ * - Yolcu ve koltuk (flight_seat_assignment) satırları tek flush'ta JDBC batch insert (pooled sequence id + hibernate.jdbc.batch_size)
+ */
+@Service
+public class GroupBookingService {
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final FlightRepository flightRepository;
+    private final AirlineFareTypeRepository airlineFareTypeRepository;
+    private final SeatOptionRepository seatOptionRepository;
+    private final MealOptionRepository mealOptionRepository;
+    private final BaggageOptionRepository baggageOptionRepository;
+    private final FlightSeatAssignmentRepository seatAssignmentRepository;
+    private final SeatInventory seatInventory;
+    private final SeatMapService seatMapService;
+    private final BookingHoldService bookingHoldService;
+    private final BookingPricingEngine pricingEngine;
+
+    public GroupBookingService(
+            BookingRepository bookingRepository,
+            UserRepository userRepository,
+            FlightRepository flightRepository,
+            AirlineFareTypeRepository airlineFareTypeRepository,
+            SeatOptionRepository seatOptionRepository,
+            MealOptionRepository mealOptionRepository,
+            BaggageOptionRepository baggageOptionRepository,
+            FlightSeatAssignmentRepository seatAssignmentRepository,
+            SeatInventory seatInventory,
+            SeatMapService seatMapService,
+            BookingHoldService bookingHoldService,
+            BookingPricingEngine pricingEngine
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.flightRepository = flightRepository;
+        this.airlineFareTypeRepository = airlineFareTypeRepository;
+        this.seatOptionRepository = seatOptionRepository;
+        this.mealOptionRepository = mealOptionRepository;
+        this.baggageOptionRepository = baggageOptionRepository;
+        this.seatAssignmentRepository = seatAssignmentRepository;
+        this.seatInventory = seatInventory;
+        this.seatMapService = seatMapService;
+        this.bookingHoldService = bookingHoldService;
+        this.pricingEngine = pricingEngine;
+    }
+
+    @Transactional
+    public Booking createGroupBooking(GroupBookingRequest req) {
+        List<PassengerRequest> passengers = req.getPassengers();
+        if (passengers == null || passengers.isEmpty() || passengers.size() > SeatRecommender.MAX_PARTY_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A group booking needs 1 to " + SeatRecommender.MAX_PARTY_SIZE + " passengers");
+        }
+
+        String email = SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getName();
+
+        User user = userRepository.findByEmail(email).orElseThrow();
+
+        Flight flight = flightRepository.findById(req.getFlightId()).orElseThrow();
+        AirlineFareType aft = airlineFareTypeRepository.findById(req.getAirlineFareTypeId()).orElseThrow();
+
+        // Tür başına tek sorgu
+        Map<Long, SeatOption> seatOptions = byId(seatOptionRepository.findAllById(ids(passengers, PassengerRequest::getSeatOptionId)), SeatOption::getId);
+        Map<Long, MealOption> mealOptions = byId(mealOptionRepository.findAllById(ids(passengers, PassengerRequest::getMealOptionId)), MealOption::getId);
+        Map<Long, BaggageOption> baggageOptions = byId(baggageOptionRepository.findAllById(ids(passengers, PassengerRequest::getBaggageOptionId)), BaggageOption::getId);
+
+        Booking booking = new Booking();
+        booking.setUser(user);
+        booking.setFlight(flight);
+        booking.setAirlineFareType(aft);
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setHoldExpiresAt(bookingHoldService.newExpiry());
+
+        Set<String> requestedSeats = new HashSet<>();
+        for (PassengerRequest pr : passengers) {
+            if (pr.getFirstName() == null || pr.getFirstName().isBlank()
+                    || pr.getLastName() == null || pr.getLastName().isBlank()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every passenger needs a first and last name");
+            }
+
+            Passenger p = new Passenger();
+            p.setFlight(flight);
+            p.setFirstName(pr.getFirstName().trim());
+            p.setLastName(pr.getLastName().trim());
+
+            if (pr.getSeatOptionId() != null) {
+                SeatOption option = required(seatOptions, pr.getSeatOptionId(), "Seat option");
+                p.setSeatOption(option);
+                p.setSeatPrice(option.getPrice());
+            }
+            if (pr.getSeatNumber() != null && !pr.getSeatNumber().isBlank()) {
+                if (p.getSeatOption() == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "seatOptionId is required when a seat number is given");
+                }
+                p.setSeatNumber(holdSeat(flight.getId(), pr.getSeatNumber(), p.getSeatOption(), requestedSeats));
+            }
+            if (pr.getMealOptionId() != null) {
+                MealOption option = required(mealOptions, pr.getMealOptionId(), "Meal option");
+                p.setMealOption(option);
+                p.setMealPrice(option.getPrice());
+            }
+            if (pr.getBaggageOptionId() != null) {
+                BaggageOption option = required(baggageOptions, pr.getBaggageOptionId(), "Baggage option");
+                p.setBaggageOption(option);
+                p.setBaggagePrice(option.getPrice());
+            }
+
+            booking.addPassenger(p);
+        }
+
+        booking.setTotalPrice(pricingEngine.total(booking));
+
+        // Booking INSERT (IDENTITY) hemen; yolcular (cascade) ve koltuk kayıtları flush'ta tür başına tek batch
+        bookingRepository.save(booking);
+        for (Passenger p : booking.getPassengers()) {
+            if (p.getSeatNumber() != null) seatAssignmentRepository.save(BookingSeatService.assignment(booking, p.getSeatNumber()));
+        }
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (!BookingSeatService.isViolationOf(e, FlightSeatAssignment.SEAT_CONSTRAINT)) throw e;
+
+            // Başka bir node koltuklardan birini az önce satmış; hangisi olduğu belli değil,
+            // tutulan bitler rollback'te bırakılır (ilgili koltuk sonraki denemede yine DB'de yakalanır)
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "One of the selected seats is already taken");
+        }
+
+        bookingHoldService.schedule(booking);
+        return booking;
+    }
+
+    private String holdSeat(Long flightId, String seatNumber, SeatOption option, Set<String> requestedSeats) {
+        SeatLayout layout = seatInventory.layout(flightId);
+        int index = layout.indexOf(seatNumber);
+        if (index < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat " + seatNumber.trim() + " does not exist on this flight");
+        }
+
+        seatMapService.requireOption(layout, index, option);
+
+        String normalized = layout.seatNumber(index);
+        if (!requestedSeats.add(normalized)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Seat " + normalized + " is requested twice");
+        }
+
+        // Doluysa 409; transaction geri alınırsa önceki yolcuların tuttukları da bırakılır
+        seatInventory.holdInTransaction(flightId, index);
+        return normalized;
+    }
+
+    private static List<Long> ids(List<PassengerRequest> passengers, Function<PassengerRequest, Long> id) {
+        return passengers.stream().map(id).filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> id) {
+        return items.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private static <T> T required(Map<Long, T> options, Long id, String label) {
+        T option = options.get(id);
+        if (option == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, label + " " + id + " not found");
+        }
+        return option;
+    }
+}
@@ -0,0 +1,126 @@
+package com.merve.flight_booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key deposu (booking oluşturma / ödeme).
+ * - İlk isteğin sonucu TTL boyunca saklanır; aynı anahtarla tekrar gelen istek DB'ye gitmeden aynı cevabı alır
+ * - Eşzamanlı kopyalar aynı future'ı bekler (işlem bir kez çalışır)
+ * - Anahtar kullanıcı + işlem türüyle ayrılır; aynı anahtar farklı gövdeyle gelirse 422
+ * - Hata sonuçları saklanmaz: bekleyenler aynı hatayı alır, sonraki deneme işlemi yeniden çalıştırır
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private record Key(String scope, String user, String key) {}
+
+    private record Entry(CompletableFuture<Object> value, String fingerprint, long expiresAtNanos) {
+        boolean isFresh(long now) {
+            return expiresAtNanos - now > 0;
+        }
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitMillis;
+
+    public IdempotencyStore(
+            @Value("${app.idempotency.ttl-minutes:60}") long ttlMinutes,
+            @Value("${app.idempotency.max-entries:100000}") int maxEntries,
+            @Value("${app.idempotency.wait-seconds:30}") long waitSeconds
+    ) {
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.maxEntries = maxEntries;
+        this.waitMillis = TimeUnit.SECONDS.toMillis(waitSeconds);
+    }
+
+    /**
+     * idempotencyKey boşsa action doğrudan çalışır.
+     * fingerprint: isteğin anlamlı alanları (aynı anahtar başka bir istek için kullanılmasın diye).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String user, String idempotencyKey, String fingerprint, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) return action.get();
+
+        String k = idempotencyKey.trim();
+        if (k.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Key key = new Key(scope, user, k);
+        long now = System.nanoTime();
+
+        // İşlemi ilk gelen üstlenir, diğerleri aynı future'ı bekler
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        Entry fresh = new Entry(mine, fingerprint, now + ttlNanos);
+        Entry winner = entries.compute(key, (x, old) -> old != null && old.isFresh(now) ? old : fresh);
+
+        if (winner != fresh) {
+            if (!winner.fingerprint().equals(fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT,
+                        "Idempotency-Key was already used for a different request");
+            }
+            return (T) await(winner);
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (Throwable e) {
+            // Error dahil: future tamamlanmazsa bekleyenler zaman aşımına kadar takılır
+            entries.remove(key, fresh);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        mine.complete(result);
+
+        if (entries.size() > maxEntries) evict();
+        return result;
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.value().get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        }
+    }
+
+    // Önce süresi dolanlar, hâlâ fazlaysa en eskiler
+    private synchronized void evict() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> !e.getValue().isFresh(now));
+
+        int overflow = entries.size() - maxEntries;
+        if (overflow <= 0) return;
+
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtNanos()))
+                .limit(overflow + maxEntries / 10)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+}
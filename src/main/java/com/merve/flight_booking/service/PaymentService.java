@@ -7,19 +7,44 @@ import com.merve.flight_booking.entity.Payment;
 import com.merve.flight_booking.entity.PaymentStatus;
 import com.merve.flight_booking.repository.BookingRepository;
 import com.merve.flight_booking.repository.PaymentRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
 
 @Service
 public class PaymentService {
 
     private final BookingRepository bookingRepository;
     private final PaymentRepository paymentRepository;
+    private final IdempotencyStore idempotencyStore;
+    private final TransactionTemplate transactionTemplate;
 
     public PaymentService(BookingRepository bookingRepository,
-                          PaymentRepository paymentRepository) {
+                          PaymentRepository paymentRepository,
+                          IdempotencyStore idempotencyStore,
+                          TransactionTemplate transactionTemplate) {
         this.bookingRepository = bookingRepository;
         this.paymentRepository = paymentRepository;
+        this.idempotencyStore = idempotencyStore;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Aynı Idempotency-Key ile tekrar gelen ödeme ilk sonucu alır ("Payment already exists" yerine).
+     * Sonuç commit'ten sonra saklanır: bekleyen kopyalar commit edilmemiş ödemeyi görmez.
+     */
+    public PaymentResponseDTO pay(Long bookingId, String idempotencyKey) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        return idempotencyStore.execute(
+                "pay", email, idempotencyKey, String.valueOf(bookingId),
+                () -> transactionTemplate.execute(status -> pay(bookingId))
+        );
     }
 
     @Transactional
@@ -28,6 +53,10 @@ public class PaymentService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+        if (booking.getStatus() == BookingStatus.EXPIRED || booking.isHoldExpired()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Booking hold has expired");
+        }
+
         if (booking.getStatus() != BookingStatus.PENDING) {
             throw new RuntimeException("Booking already paid");
         }
@@ -36,14 +65,17 @@ public class PaymentService {
             throw new RuntimeException("Payment already exists");
         }
 
+        // Koşullu UPDATE: okuma ile onay arasında expiry worker EXPIRED yaptıysa / süre dolduysa 0 satır.
+        // Entity'nin status'u set edilmez; dirty checking worker'ın yazdığını ezmesin
+        if (bookingRepository.confirmIfHeld(bookingId, LocalDateTime.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Booking hold has expired");
+        }
+
         Payment payment = new Payment();
         payment.setBooking(booking);
         payment.setAmount(booking.getTotalPrice());
         payment.setPaymentStatus(PaymentStatus.SUCCESS);
 
-        booking.setStatus(BookingStatus.CONFIRMED);
-
-        bookingRepository.save(booking);
         paymentRepository.save(payment);
 
         // DTO map
@@ -53,7 +85,7 @@ public class PaymentService {
         dto.setStatus(payment.getPaymentStatus().name());
         dto.setPaymentDate(payment.getPaymentDate().toString());
         dto.setBookingId(booking.getId());
-        dto.setBookingStatus(booking.getStatus().name());
+        dto.setBookingStatus(BookingStatus.CONFIRMED.name());
 
         return dto;
     }
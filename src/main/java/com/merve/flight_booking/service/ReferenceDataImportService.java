@@ -0,0 +1,235 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.event.FareTypesChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Havalimanı / havayolu CSV toplu içe aktarma.
+ * - CSV akış halinde okunur; satırlar code'a göre JDBC batch UPDATE / INSERT olarak yazılır (tek transaction)
+ * - Commit sonrası bağımlı bellek içi yapılar yeniden kurulup atomik olarak değiştirilir;
+ *   devam eden aramalar eski snapshot'larla tamamlanır
+ */
+@Service
+public class ReferenceDataImportService {
+
+    private static final int BATCH_SIZE = 500;
+
+    public enum Target {
+        AIRPORTS("airports", List.of("code", "name", "city", "country", "metro_code", "latitude", "longitude")),
+        AIRLINES("airlines", List.of("code", "name", "country"));
+
+        private final String table;
+        private final List<String> columns;
+
+        Target(String table, List<String> columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+    }
+
+    public record ImportResult(Target target, int inserted, int updated, int skipped) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AirportCatalog airportCatalog;
+    private final FlightInventoryIndex flightInventoryIndex;
+    private final RouteAdjacency routeAdjacency;
+    private final FlightSearchCache flightSearchCache;
+    private final ReferenceDataSnapshots referenceDataSnapshots;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReferenceDataImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            AirportCatalog airportCatalog,
+            FlightInventoryIndex flightInventoryIndex,
+            RouteAdjacency routeAdjacency,
+            FlightSearchCache flightSearchCache,
+            ReferenceDataSnapshots referenceDataSnapshots,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.airportCatalog = airportCatalog;
+        this.flightInventoryIndex = flightInventoryIndex;
+        this.routeAdjacency = routeAdjacency;
+        this.flightSearchCache = flightSearchCache;
+        this.referenceDataSnapshots = referenceDataSnapshots;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * İlk satır başlık olmalı; code zorunlu, diğer kolonlar opsiyonel (olmayan kolonlara dokunulmaz).
+     * Hatalı satırda tüm import geri alınır (IllegalArgumentException).
+     */
+    public synchronized ImportResult importCsv(Target target, InputStream in) {
+        ImportResult result = transactionTemplate.execute(status -> upsert(target, in));
+        refreshDerivedData(target);
+        return result;
+    }
+
+    private ImportResult upsert(Target target, InputStream in) {
+        try (CsvRecordReader csv = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+
+            List<String> header = csv.next();
+            if (header == null) throw new IllegalArgumentException("CSV is empty");
+
+            // CSV kolon sırası -> tablo kolonu (bilinmeyen kolonlar yok sayılır)
+            Map<Integer, String> mapping = mapHeader(target, header);
+            if (!mapping.containsValue("code")) throw new IllegalArgumentException("CSV header must contain 'code'");
+
+            List<String> columns = List.copyOf(mapping.values());
+            List<String> updatable = columns.stream().filter(c -> !c.equals("code")).toList();
+
+            String insertSql = "insert into " + target.table + " (" + String.join(", ", columns) + ") values ("
+                    + columns.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")";
+            String updateSql = "update " + target.table + " set "
+                    + updatable.stream().map(c -> c + " = ?").collect(Collectors.joining(", "))
+                    + " where code = ?";
+
+            Set<String> known = new HashSet<>(jdbcTemplate.queryForList(
+                    "select upper(code) from " + target.table + " where code is not null", String.class));
+
+            List<Object[]> inserts = new ArrayList<>(BATCH_SIZE);
+            List<Object[]> updates = new ArrayList<>(BATCH_SIZE);
+            int inserted = 0;
+            int updated = 0;
+            int skipped = 0;
+
+            for (List<String> record = csv.next(); record != null; record = csv.next()) {
+                Map<String, Object> row = toRow(mapping, record, csv.recordNumber());
+                String code = (String) row.get("code");
+
+                if (code == null) {
+                    skipped++;
+                    continue;
+                }
+
+                if (known.add(code)) {
+                    inserts.add(columns.stream().map(row::get).toArray());
+                } else if (!updatable.isEmpty()) {
+                    List<Object> args = new ArrayList<>(updatable.size() + 1);
+                    updatable.forEach(c -> args.add(row.get(c)));
+                    args.add(code);
+                    updates.add(args.toArray());
+                } else {
+                    skipped++;
+                }
+
+                // Aynı code dosyada tekrar ederse UPDATE, INSERT'ten sonra çalışmalı
+                if (inserts.size() >= BATCH_SIZE || updates.size() >= BATCH_SIZE) {
+                    inserted += flush(insertSql, inserts);
+                    updated += flush(updateSql, updates);
+                }
+            }
+
+            inserted += flush(insertSql, inserts);
+            updated += flush(updateSql, updates);
+
+            return new ImportResult(target, inserted, updated, skipped);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Devam eden aramalar eski snapshot'ları okumaya devam eder; her yapı kendi referansını tek seferde değiştirir
+    private void refreshDerivedData(Target target) {
+        if (target == Target.AIRPORTS) {
+            // AirportCatalogRefreshedEvent -> arama / geo indeksleri, referans snapshot'ları
+            airportCatalog.reload();
+        }
+
+        // FlightView'lar havalimanı ve havayolu kod/isimlerini taşır
+        flightInventoryIndex.reload();
+        routeAdjacency.rebuild();
+        // Fare type cache + fiyat takvimi (takvim yeni indeksten kurulur)
+        eventPublisher.publishEvent(new FareTypesChangedEvent());
+        flightSearchCache.clear();
+
+        // Option tabloları import ile aynı bakımda elle değişmiş olabilir; içerik aynıysa ETag korunur
+        referenceDataSnapshots.refreshOptions();
+    }
+
+    /**
+     * Uygulama dışından değiştirilen seat/meal/baggage option ve airline fare type tablolarını
+     * snapshot'lara, en ucuz fare cache'ine ve fiyat takvimine yansıtır.
+     */
+    public void refreshOptions() {
+        referenceDataSnapshots.refreshOptions();
+        eventPublisher.publishEvent(new FareTypesChangedEvent());
+    }
+
+    private int flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) return 0;
+        jdbcTemplate.batchUpdate(sql, batch);
+        int n = batch.size();
+        batch.clear();
+        return n;
+    }
+
+    private static Map<Integer, String> mapHeader(Target target, List<String> header) {
+        Map<Integer, String> mapping = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = headerKey(header.get(i));
+            for (String column : target.columns) {
+                if (headerKey(column).equals(name) && !mapping.containsValue(column)) mapping.put(i, column);
+            }
+        }
+        return mapping;
+    }
+
+    // "Metro Code", "metroCode", "metro_code" -> "metrocode"; UTF-8 BOM temizlenir
+    private static String headerKey(String s) {
+        return s.replace("\uFEFF", "").replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Object> toRow(Map<Integer, String> mapping, List<String> record, long recordNumber) {
+        Map<String, Object> row = new LinkedHashMap<>();
+
+        mapping.forEach((index, column) -> {
+            String raw = index < record.size() ? record.get(index).trim() : "";
+            Object value = raw.isEmpty() ? null : raw;
+
+            if (value != null) {
+                switch (column) {
+                    case "code", "metro_code" -> value = raw.toUpperCase(Locale.ROOT);
+                    case "latitude" -> value = parseCoordinate(raw, 90, column, recordNumber);
+                    case "longitude" -> value = parseCoordinate(raw, 180, column, recordNumber);
+                    default -> { }
+                }
+            }
+            row.put(column, value);
+        });
+        return row;
+    }
+
+    private static Double parseCoordinate(String raw, double limit, String column, long recordNumber) {
+        try {
+            double v = Double.parseDouble(raw);
+            if (Math.abs(v) > limit) throw new NumberFormatException();
+            return v;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + raw + "' at record " + recordNumber);
+        }
+    }
+}
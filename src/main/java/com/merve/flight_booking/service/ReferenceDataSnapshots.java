@@ -0,0 +1,142 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.event.AirportCatalogRefreshedEvent;
+import com.merve.flight_booking.repository.BaggageOptionRepository;
+import com.merve.flight_booking.repository.MealOptionRepository;
+import com.merve.flight_booking.repository.SeatOptionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Referans tablolarının (havalimanları, seat/meal/baggage options) hazır JSON snapshot'ları.
+ * - JSON bir kez serialize edilir, gzip'li hali de saklanır; istek başına serialization yok
+ * - ETag içerik hash'inden türetilir (strong); içerik değişmediyse versiyon da değişmez
+ * - Havalimanları AirportCatalog yenilendiğinde, option'lar startup'ta, her CSV import'unda
+ *   ve admin "refresh options" işleminde (refreshOptions()) kurulur
+ */
+@Component
+public class ReferenceDataSnapshots {
+
+    public enum Kind { AIRPORTS, SEAT_OPTIONS, MEAL_OPTIONS, BAGGAGE_OPTIONS }
+
+    public record Snapshot(long version, String etag, byte[] json, byte[] gzip) {
+
+        // gzip ve düz gövde ayrı temsil olduğundan strong ETag'leri de farklı
+        public String etag(boolean gzipped) {
+            return gzipped ? "\"" + etag + "-gz\"" : "\"" + etag + "\"";
+        }
+
+        // If-None-Match: "*" veya listedeki herhangi bir temsilin ETag'i
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+            for (String tag : ifNoneMatch.split(",")) {
+                String t = tag.trim();
+                if (t.equals("*") || t.equals(etag(false)) || t.equals(etag(true))) return true;
+            }
+            return false;
+        }
+    }
+
+    private final AirportCatalog airportCatalog;
+    private final SeatOptionRepository seatOptionRepository;
+    private final MealOptionRepository mealOptionRepository;
+    private final BaggageOptionRepository baggageOptionRepository;
+    private final JsonMapper jsonMapper;
+
+    private final Map<Kind, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public ReferenceDataSnapshots(
+            AirportCatalog airportCatalog,
+            SeatOptionRepository seatOptionRepository,
+            MealOptionRepository mealOptionRepository,
+            BaggageOptionRepository baggageOptionRepository,
+            JsonMapper jsonMapper
+    ) {
+        this.airportCatalog = airportCatalog;
+        this.seatOptionRepository = seatOptionRepository;
+        this.mealOptionRepository = mealOptionRepository;
+        this.baggageOptionRepository = baggageOptionRepository;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refreshOptions();
+    }
+
+    @EventListener(AirportCatalogRefreshedEvent.class)
+    public void onAirportsRefreshed() {
+        refresh(Kind.AIRPORTS);
+    }
+
+    // ReferenceDataImportService: import sonrası ve admin refresh-options
+    public void refreshOptions() {
+        refresh(Kind.SEAT_OPTIONS);
+        refresh(Kind.MEAL_OPTIONS);
+        refresh(Kind.BAGGAGE_OPTIONS);
+    }
+
+    public Snapshot get(Kind kind) {
+        Snapshot s = snapshots.get(kind);
+        return s != null ? s : refresh(kind);
+    }
+
+    public synchronized Snapshot refresh(Kind kind) {
+        byte[] json = serialize(loader(kind).get());
+        Snapshot current = snapshots.get(kind);
+
+        // Satırlar değişmediyse eski snapshot (ve ETag'i) korunur
+        if (current != null && Arrays.equals(current.json(), json)) return current;
+
+        long version = current == null ? 1 : current.version() + 1;
+        Snapshot next = new Snapshot(version, sha256(json), json, gzip(json));
+        snapshots.put(kind, next);
+        return next;
+    }
+
+    private Supplier<Object> loader(Kind kind) {
+        return switch (kind) {
+            case AIRPORTS -> () -> airportCatalog.snapshot().airports();
+            case SEAT_OPTIONS -> seatOptionRepository::findAll;
+            case MEAL_OPTIONS -> mealOptionRepository::findAll;
+            case BAGGAGE_OPTIONS -> baggageOptionRepository::findAll;
+        };
+    }
+
+    private byte[] serialize(Object value) {
+        return jsonMapper.writeValueAsBytes(value);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.merve.flight_booking.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Locale;
+
+/**
+ * app.import.watch-dir ayarlıysa klasöre bırakılan airports*.csv / airlines*.csv dosyalarını içe aktarır.
+ * - Dosya yazımı bitmeden okunmaması için önce başka isimle yazılıp rename edilmeli (*.csv.tmp -> *.csv)
+ * - İşlenen dosya processed/, hatalı olan failed/ altına taşınır
+ */
+@Component
+public class ReferenceDataWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataWatcher.class);
+
+    private final ReferenceDataImportService importService;
+    private final String watchDir;
+
+    private volatile WatchService watchService;
+
+    public ReferenceDataWatcher(
+            ReferenceDataImportService importService,
+            @Value("${app.import.watch-dir:}") String watchDir
+    ) {
+        this.importService = importService;
+        this.watchDir = watchDir;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (watchDir == null || watchDir.isBlank()) return;
+
+        Path dir = Path.of(watchDir);
+        Files.createDirectories(dir);
+
+        watchService = dir.getFileSystem().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+
+        Thread t = new Thread(() -> run(dir), "reference-data-watcher");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        WatchService ws = watchService;
+        if (ws != null) ws.close();
+    }
+
+    private void run(Path dir) {
+        // Uygulama kapalıyken bırakılmış dosyalar
+        try (DirectoryStream<Path> existing = Files.newDirectoryStream(dir, "*.csv")) {
+            for (Path p : existing) process(dir, p);
+        } catch (IOException e) {
+            log.warn("Cannot list {}", dir, e);
+        }
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path name) process(dir, dir.resolve(name));
+                }
+                if (!key.reset()) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // kapanış
+        }
+    }
+
+    private void process(Path dir, Path file) {
+        ReferenceDataImportService.Target target = targetOf(file);
+        if (target == null || !Files.isRegularFile(file)) return;
+
+        try (InputStream in = Files.newInputStream(file)) {
+            ReferenceDataImportService.ImportResult result = importService.importCsv(target, in);
+            log.info("Imported {}: {}", file.getFileName(), result);
+            moveTo(dir.resolve("processed"), file);
+        } catch (Exception e) {
+            log.warn("Import of {} failed", file.getFileName(), e);
+            moveTo(dir.resolve("failed"), file);
+        }
+    }
+
+    private static ReferenceDataImportService.Target targetOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!name.endsWith(".csv")) return null;
+        if (name.startsWith("airports")) return ReferenceDataImportService.Target.AIRPORTS;
+        if (name.startsWith("airlines")) return ReferenceDataImportService.Target.AIRLINES;
+        return null;
+    }
+
+    private static void moveTo(Path targetDir, Path file) {
+        try {
+            Files.createDirectories(targetDir);
+            String name = System.currentTimeMillis() + "-" + file.getFileName();
+            Files.move(file, targetDir.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Cannot move {} to {}", file, targetDir, e);
+        }
+    }
+}
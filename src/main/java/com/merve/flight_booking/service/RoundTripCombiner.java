@@ -0,0 +1,92 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.FlightView;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Gidiş + dönüş listelerinden en ucuz (veya en kısa) K kombinasyon.
+ * - İki liste maliyete göre sıralanır, (i, j) çiftleri min-heap ile sırayla açılır
+ * - Çapraz çarpım hiçbir zaman üretilmez: en fazla K + elenen çift kadar pop
+ * - Dönüş, gidişin varışından sonra kalkmalı
+ */
+@Component
+public class RoundTripCombiner {
+
+    public enum Objective { PRICE, DURATION }
+
+    public record Combination(FlightView outbound, FlightView inbound, double totalPrice, long totalDurationMinutes) {}
+
+    private record Candidate(int i, int j, double cost) {}
+
+    // Geçersiz (zaman olarak çakışan) çiftler yüzünden heap'in sınırsız büyümemesi için
+    private static final int MAX_POPS_PER_RESULT = 50;
+
+    private final FareTypeService fareTypeService;
+
+    public RoundTripCombiner(FareTypeService fareTypeService) {
+        this.fareTypeService = fareTypeService;
+    }
+
+    public List<Combination> topK(List<FlightView> outbound, List<FlightView> inbound, int k, Objective objective) {
+        if (k <= 0 || outbound.isEmpty() || inbound.isEmpty()) return List.of();
+
+        Comparator<FlightView> byCost = Comparator.comparingDouble(f -> cost(f, objective));
+        List<FlightView> a = outbound.stream().sorted(byCost).toList();
+        List<FlightView> b = inbound.stream().sorted(byCost).toList();
+
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingDouble(Candidate::cost));
+        Set<Long> seen = new HashSet<>();
+        push(heap, seen, a, b, 0, 0, objective);
+
+        List<Combination> result = new ArrayList<>(k);
+        int pops = 0;
+        int maxPops = k * MAX_POPS_PER_RESULT;
+
+        while (!heap.isEmpty() && result.size() < k && pops++ < maxPops) {
+            Candidate c = heap.poll();
+            FlightView out = a.get(c.i());
+            FlightView in = b.get(c.j());
+
+            if (isValid(out, in)) {
+                result.add(new Combination(out, in, price(out) + price(in), minutes(out) + minutes(in)));
+            }
+
+            push(heap, seen, a, b, c.i() + 1, c.j(), objective);
+            push(heap, seen, a, b, c.i(), c.j() + 1, objective);
+        }
+
+        return result;
+    }
+
+    private void push(PriorityQueue<Candidate> heap, Set<Long> seen,
+                      List<FlightView> a, List<FlightView> b, int i, int j, Objective objective) {
+        if (i >= a.size() || j >= b.size()) return;
+        if (!seen.add(((long) i << 32) | j)) return;
+        heap.add(new Candidate(i, j, cost(a.get(i), objective) + cost(b.get(j), objective)));
+    }
+
+    private boolean isValid(FlightView out, FlightView in) {
+        return out.arrivalTime() == null || in.departureTime().isAfter(out.arrivalTime());
+    }
+
+    private double cost(FlightView f, Objective objective) {
+        return objective == Objective.DURATION ? minutes(f) : price(f);
+    }
+
+    // basePrice + havayolunun en ucuz fare type ek ücreti
+    public double price(FlightView f) {
+        return f.basePrice() + fareTypeService.cheapestExtraPrice(f.airlineId());
+    }
+
+    private static long minutes(FlightView f) {
+        return f.arrivalTime() == null ? 0 : Duration.between(f.departureTime(), f.arrivalTime()).toMinutes();
+    }
+}
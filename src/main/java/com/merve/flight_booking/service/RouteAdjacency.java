@@ -0,0 +1,198 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.FlightView;
+import com.merve.flight_booking.event.FlightChangedEvent;
+import com.merve.flight_booking.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Havalimanı id -> gidilebilen havalimanı id'leri (sıralı long[]).
+ * - /api/airports/from ve /to dropdown'ları DB'ye gitmeden buradan cevaplanır
+ * - Her (from, to) çifti için en geç kalkış tutulur; future-only açıksa geçmişte kalan rotalar elenir
+ * - Uçuş create/delete olduğunda sadece etkilenen kalkış havalimanı yeniden yayınlanır
+ */
+@Component
+public class RouteAdjacency {
+
+    private record Routes(long[] destinations, LocalDateTime[] latest) {}
+
+    private record Snapshot(long[] origins, LocalDateTime[] originLatest, Map<Long, Routes> byOrigin) {}
+
+    private final FlightInventoryIndex flightInventoryIndex;
+    private final FlightRepository flightRepository;
+    private final boolean futureOnly;
+
+    // Yazma tarafı (synchronized): from -> to -> en geç kalkış
+    private final Map<Long, NavigableMap<Long, LocalDateTime>> pairs = new HashMap<>();
+    private final Map<Long, Routes> published = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    public RouteAdjacency(
+            FlightInventoryIndex flightInventoryIndex,
+            FlightRepository flightRepository,
+            @Value("${app.airports.routes.future-only:false}") boolean futureOnly
+    ) {
+        this.flightInventoryIndex = flightInventoryIndex;
+        this.flightRepository = flightRepository;
+        this.futureOnly = futureOnly;
+    }
+
+    // FlightInventoryIndex (Order 0) yüklendikten sonra
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(5)
+    public synchronized void rebuild() {
+        List<FlightView> flights = flightInventoryIndex.isLoaded()
+                ? flightInventoryIndex.all()
+                : flightRepository.findAllViews();
+
+        pairs.clear();
+        published.clear();
+
+        for (FlightView f : flights) {
+            if (!routable(f)) continue;
+            pairs.computeIfAbsent(f.departureAirportId(), k -> new TreeMap<>())
+                    .merge(f.arrivalAirportId(), f.departureTime(), RouteAdjacency::later);
+        }
+        for (Long origin : pairs.keySet()) {
+            published.put(origin, toRoutes(pairs.get(origin)));
+        }
+
+        publish();
+    }
+
+    @EventListener
+    @Order(5)
+    public synchronized void onFlightChanged(FlightChangedEvent event) {
+        if (snapshot == null) return;
+
+        FlightView removed = event.previous();
+        FlightView added = event.current();
+
+        if (routable(removed)) {
+            NavigableMap<Long, LocalDateTime> to = pairs.get(removed.departureAirportId());
+            if (to != null) {
+                // Inventory (Order 0) güncel; rotada kalan en geç kalkışı oradan al (yüklenmemişse DB'den)
+                LocalDateTime latest = flightInventoryIndex.isLoaded()
+                        ? flightInventoryIndex.latestDeparture(removed.from(), removed.to())
+                        : flightRepository.findLatestDeparture(removed.departureAirportId(), removed.arrivalAirportId());
+                if (latest == null) to.remove(removed.arrivalAirportId());
+                else to.put(removed.arrivalAirportId(), latest);
+                if (to.isEmpty()) pairs.remove(removed.departureAirportId());
+            }
+            republish(removed.departureAirportId());
+        }
+
+        if (routable(added)) {
+            pairs.computeIfAbsent(added.departureAirportId(), k -> new TreeMap<>())
+                    .merge(added.arrivalAirportId(), added.departureTime(), RouteAdjacency::later);
+            republish(added.departureAirportId());
+        }
+
+        publish();
+    }
+
+    /**
+     * Kalkışı olan havalimanı id'leri, artan sırada.
+     */
+    public List<Long> origins() {
+        Snapshot s = snapshot();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> result = new ArrayList<>(s.origins().length);
+        for (int i = 0; i < s.origins().length; i++) {
+            if (visible(s.originLatest()[i], now)) result.add(s.origins()[i]);
+        }
+        return result;
+    }
+
+    /**
+     * fromId'den direkt gidilebilen havalimanı id'leri, artan sırada.
+     */
+    public List<Long> destinations(Long fromId) {
+        if (fromId == null) return List.of();
+
+        Routes routes = snapshot().byOrigin().get(fromId);
+        if (routes == null) return List.of();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> result = new ArrayList<>(routes.destinations().length);
+        for (int i = 0; i < routes.destinations().length; i++) {
+            if (visible(routes.latest()[i], now)) result.add(routes.destinations()[i]);
+        }
+        return result;
+    }
+
+    // İlk erişim startup'tan önce gelirse senkron kur
+    private Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+
+        synchronized (this) {
+            if (snapshot == null) rebuild();
+            return snapshot;
+        }
+    }
+
+    private void republish(Long origin) {
+        NavigableMap<Long, LocalDateTime> to = pairs.get(origin);
+        if (to == null) published.remove(origin);
+        else published.put(origin, toRoutes(to));
+    }
+
+    // Sadece origin dizisi yeniden kurulur; Routes nesneleri değişmeyen havalimanları için paylaşılır
+    private void publish() {
+        long[] origins = published.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        LocalDateTime[] originLatest = new LocalDateTime[origins.length];
+
+        for (int i = 0; i < origins.length; i++) {
+            LocalDateTime max = null;
+            for (LocalDateTime t : published.get(origins[i]).latest()) max = later(max, t);
+            originLatest[i] = max;
+        }
+
+        snapshot = new Snapshot(origins, originLatest, Map.copyOf(published));
+    }
+
+    private boolean visible(LocalDateTime latest, LocalDateTime now) {
+        return !futureOnly || (latest != null && latest.isAfter(now));
+    }
+
+    private static Routes toRoutes(NavigableMap<Long, LocalDateTime> to) {
+        long[] destinations = new long[to.size()];
+        LocalDateTime[] latest = new LocalDateTime[to.size()];
+
+        int i = 0;
+        for (Map.Entry<Long, LocalDateTime> e : to.entrySet()) {
+            destinations[i] = e.getKey();
+            latest[i] = e.getValue();
+            i++;
+        }
+        return new Routes(destinations, latest);
+    }
+
+    private static boolean routable(FlightView f) {
+        return f != null
+                && f.departureAirportId() != null
+                && f.arrivalAirportId() != null
+                && f.departureTime() != null;
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,165 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.entity.FlightSeatAssignment;
+import com.merve.flight_booking.repository.BookingRepository;
+import com.merve.flight_booking.repository.BookingSeatRepository;
+import com.merve.flight_booking.repository.FlightRepository;
+import com.merve.flight_booking.repository.FlightSeatAssignmentRepository;
+import com.merve.flight_booking.repository.PassengerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Koltuk verisi için tek seferlik açılış düzeltmeleri.
+ * - booking_seat.flight_id bu kolondan önce oluşmuş satırlarda boş: booking'in uçuşundan doldurulur
+ * - ddl-auto=update mevcut kolonu NOT NULL yapmaz; doldurma tamamlandıysa kolon burada daraltılır
+ * - flight_seat_assignment öncesi satılmış koltuklar (booking + yolcu) tabloya taşınır; aynı koltuk iki kez
+ *   satılmışsa ilki tutulur, diğerinin koltuk numarası boşaltılıp loglanır
+ * - Eski tablo başına unique key'ler (uk_booking_seat_flight_seat, uk_passenger_flight_seat) ddl-auto=update ile
+ *   kalkmaz; tekillik tek yerde olsun diye burada düşürülür (flight_id FK'sı için yerine düz index eklenir)
+ * - İkinci açılıştan itibaren yapılacak iş kalmaz (birkaç boş sorgu)
+ * - SeatInventory bitset'leri ve hold expiry başlamadan önce çalışır
+ */
+@Component
+public class SeatBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatBackfill.class);
+
+    private final BookingSeatRepository bookingSeatRepository;
+    private final FlightSeatAssignmentRepository seatAssignmentRepository;
+    private final PassengerRepository passengerRepository;
+    private final BookingRepository bookingRepository;
+    private final FlightRepository flightRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SeatBackfill(
+            BookingSeatRepository bookingSeatRepository,
+            FlightSeatAssignmentRepository seatAssignmentRepository,
+            PassengerRepository passengerRepository,
+            BookingRepository bookingRepository,
+            FlightRepository flightRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.bookingSeatRepository = bookingSeatRepository;
+        this.seatAssignmentRepository = seatAssignmentRepository;
+        this.passengerRepository = passengerRepository;
+        this.bookingRepository = bookingRepository;
+        this.flightRepository = flightRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(-10)
+    public void run() {
+        Integer flights = transactionTemplate.execute(status -> bookingSeatRepository.backfillFlight());
+        if (flights != null && flights > 0) log.info("Backfilled flight_id on {} booking seats", flights);
+
+        requireFlightColumn();
+
+        Integer assigned = transactionTemplate.execute(status -> backfillAssignments());
+        if (assigned != null && assigned > 0) log.info("Moved {} sold seats to flight_seat_assignment", assigned);
+
+        dropLegacySeatKey("booking_seat", "uk_booking_seat_flight_seat", "idx_booking_seat_flight");
+        dropLegacySeatKey("booking_passengers", "uk_passenger_flight_seat", "idx_passenger_flight");
+    }
+
+    private int backfillAssignments() {
+        Set<String> seen = new HashSet<>();
+        List<FlightSeatAssignment> rows = new ArrayList<>();
+
+        for (FlightSeatAssignmentRepository.HeldSeat s : seatAssignmentRepository.findUnassignedBookingSeats()) {
+            if (seen.add(key(s))) rows.add(assignment(s));
+            else clearDuplicate(s, bookingSeatRepository.clearSeatNumber(s.getBookingId(), s.getSeatNumber()));
+        }
+        for (FlightSeatAssignmentRepository.HeldSeat s : seatAssignmentRepository.findUnassignedPassengerSeats()) {
+            if (seen.add(key(s))) rows.add(assignment(s));
+            else clearDuplicate(s, passengerRepository.clearSeatNumber(s.getBookingId(), s.getSeatNumber()));
+        }
+
+        seatAssignmentRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private FlightSeatAssignment assignment(FlightSeatAssignmentRepository.HeldSeat s) {
+        FlightSeatAssignment a = new FlightSeatAssignment();
+        a.setBooking(bookingRepository.getReferenceById(s.getBookingId()));
+        a.setFlight(flightRepository.getReferenceById(s.getFlightId()));
+        a.setSeatNumber(s.getSeatNumber());
+        return a;
+    }
+
+    // Eski iki tablolu düzende aynı koltuk iki kez satılmış: ilk satan tutar, diğerinin koltuk numarası boşaltılır
+    private static void clearDuplicate(FlightSeatAssignmentRepository.HeldSeat s, int cleared) {
+        log.warn("Seat {} on flight {} was sold twice; cleared it on booking {} ({} rows)",
+                s.getSeatNumber(), s.getFlightId(), s.getBookingId(), cleared);
+    }
+
+    private static String key(FlightSeatAssignmentRepository.HeldSeat s) {
+        return s.getFlightId() + "|" + s.getSeatNumber();
+    }
+
+    private void dropLegacySeatKey(String table, String key, String replacement) {
+        if (!hasIndex(table, key)) return;
+
+        // MySQL: FK flight_id bu index'i kullanıyor olabilir; yerine koyacak index aynı ALTER'da eklenir
+        jdbcTemplate.execute("alter table " + table + " add index " + replacement + " (flight_id), drop index " + key);
+        log.info("Dropped legacy seat key {}.{}", table, key);
+    }
+
+    private void requireFlightColumn() {
+        if (!isNullable("booking_seat", "flight_id")) return;
+
+        long missing = bookingSeatRepository.countByFlightIsNull();
+        if (missing > 0) {
+            log.warn("booking_seat.flight_id stays nullable: {} rows have no flight", missing);
+            return;
+        }
+        jdbcTemplate.execute("alter table booking_seat modify flight_id bigint not null");
+        log.info("booking_seat.flight_id is now NOT NULL");
+    }
+
+    private boolean hasIndex(String table, String index) {
+        Boolean found = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            String t = meta.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet rs = meta.getIndexInfo(con.getCatalog(), null, t, true, true)) {
+                while (rs.next()) {
+                    if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) return true;
+                }
+                return false;
+            }
+        });
+        return Boolean.TRUE.equals(found);
+    }
+
+    private boolean isNullable(String table, String column) {
+        Boolean nullable = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            boolean upper = meta.storesUpperCaseIdentifiers();
+            try (ResultSet rs = meta.getColumns(con.getCatalog(), null,
+                    upper ? table.toUpperCase(Locale.ROOT) : table,
+                    upper ? column.toUpperCase(Locale.ROOT) : column)) {
+                return rs.next() && rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable;
+            }
+        });
+        return Boolean.TRUE.equals(nullable);
+    }
+}
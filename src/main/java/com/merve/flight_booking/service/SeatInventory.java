@@ -0,0 +1,182 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.entity.Flight;
+import com.merve.flight_booking.event.FlightChangedEvent;
+import com.merve.flight_booking.repository.FlightRepository;
+import com.merve.flight_booking.repository.FlightSeatAssignmentRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Uçuş başına dolu koltuk bitset'i (AtomicLongArray, koltuk başına 1 bit).
+ * - hold: ilgili word üzerinde CAS; aynı uçuşta farklı koltuklar birbirini beklemez
+ * - İlk erişimde uçuşun kabin düzeni + DB'deki dolu koltuklar yüklenir
+ * - DB tarafında flight_seat_assignment (flight_id, seat_number) unique constraint son savunma hattı (çok node'lu kurulum)
+ */
+@Component
+public class SeatInventory {
+
+    /**
+     * version her hold/release'te artar; loadedAt ile birlikte seat-map ETag'ini oluşturur
+     * (bitset yeniden yüklenirse eski ETag'ler eşleşmez).
+     */
+    public record FlightSeats(SeatLayout layout, AtomicLongArray occupied, long loadedAt, AtomicLong version) {
+
+        public boolean isOccupied(int index) {
+            return (occupied.get(index >>> 6) & (1L << index)) != 0;
+        }
+    }
+
+    private final FlightRepository flightRepository;
+    private final FlightSeatAssignmentRepository seatAssignmentRepository;
+
+    private final Map<Long, FlightSeats> flights = new ConcurrentHashMap<>();
+
+    public SeatInventory(
+            FlightRepository flightRepository,
+            FlightSeatAssignmentRepository seatAssignmentRepository
+    ) {
+        this.flightRepository = flightRepository;
+        this.seatAssignmentRepository = seatAssignmentRepository;
+    }
+
+    // Silinen uçuşun bitset'i bellekte kalmasın
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        if (event.current() == null && event.previous() != null) {
+            flights.remove(event.previous().id());
+        }
+    }
+
+    public FlightSeats seats(Long flightId) {
+        FlightSeats s = flights.get(flightId);
+        return s != null ? s : flights.computeIfAbsent(flightId, this::load);
+    }
+
+    public SeatLayout layout(Long flightId) {
+        return seats(flightId).layout();
+    }
+
+    /**
+     * Koltuk boşsa atomik olarak işaretler; doluysa false.
+     */
+    public boolean tryHold(Long flightId, int index) {
+        FlightSeats s = seats(flightId);
+        AtomicLongArray bits = s.occupied();
+        int word = index >>> 6;
+        long mask = 1L << index;
+
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) return false;
+            if (bits.compareAndSet(word, current, current | mask)) {
+                s.version().incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public void release(Long flightId, int index) {
+        FlightSeats s = flights.get(flightId);
+        if (s == null) return;
+
+        AtomicLongArray bits = s.occupied();
+        int word = index >>> 6;
+        long mask = 1L << index;
+
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) == 0) return;
+            if (bits.compareAndSet(word, current, current & ~mask)) {
+                s.version().incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aktif transaction içinde koltuğu tutar; rollback olursa bit geri bırakılır.
+     * Koltuk doluysa 409.
+     */
+    public Hold holdInTransaction(Long flightId, int index) {
+        Hold hold = tryHoldInTransaction(flightId, index);
+        if (hold == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Seat is already taken");
+        }
+        return hold;
+    }
+
+    // Doluysa null (otomatik atamada sıradaki adaya geçmek için)
+    public Hold tryHoldInTransaction(Long flightId, int index) {
+        if (!tryHold(flightId, index)) return null;
+
+        Hold hold = new Hold(flightId, index);
+        TransactionSynchronizationManager.registerSynchronization(hold);
+        return hold;
+    }
+
+    /**
+     * Commit sonrası koltuğu serbest bırakır (koltuk değişimi / iptal).
+     */
+    public void releaseAfterCommit(Long flightId, String seatNumber) {
+        if (flightId == null || seatNumber == null) return;
+
+        int index = layout(flightId).indexOf(seatNumber);
+        if (index < 0) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(flightId, index);
+            }
+        });
+    }
+
+    public final class Hold implements TransactionSynchronization {
+
+        private final Long flightId;
+        private final int index;
+        private volatile boolean takenElsewhere;
+
+        private Hold(Long flightId, int index) {
+            this.flightId = flightId;
+            this.index = index;
+        }
+
+        // DB unique constraint başka node'un aldığını gösterdi: bit dolu kalmalı
+        public void markTakenElsewhere() {
+            takenElsewhere = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED && !takenElsewhere) release(flightId, index);
+        }
+    }
+
+    private FlightSeats load(Long flightId) {
+        Flight flight = flightRepository.findById(flightId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Flight not found"));
+
+        SeatLayout layout = SeatLayout.of(flight.getCabinRows(), flight.getSeatLayout());
+        AtomicLongArray occupied = new AtomicLongArray((layout.seatCount() + 63) / 64);
+
+        // Tek yolculu booking koltukları + grup booking yolcu koltukları tek tabloda
+        for (String seatNumber : seatAssignmentRepository.findSeatNumbers(flightId)) {
+            int index = layout.indexOf(seatNumber);
+            if (index >= 0) {
+                occupied.set(index >>> 6, occupied.get(index >>> 6) | (1L << index));
+            }
+        }
+        return new FlightSeats(layout, occupied, System.currentTimeMillis(), new AtomicLong());
+    }
+}
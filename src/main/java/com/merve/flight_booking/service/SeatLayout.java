@@ -0,0 +1,106 @@
+package com.merve.flight_booking.service;
+
+import java.util.Locale;
+
+/**
+ * Kabin düzeni: sıra sayısı + koltuk harfleri ("ABC-DEF", '-' = koridor).
+ * Koltuk indeksi = (sıra - 1) * sıradaki koltuk sayısı + harf sırası; "12C" <-> indeks.
+ */
+public final class SeatLayout {
+
+    public enum Position { WINDOW, MIDDLE, AISLE }
+
+    public static final int DEFAULT_ROWS = 30;
+    public static final String DEFAULT_LAYOUT = "ABC-DEF";
+
+    private final int rows;
+    private final String layout;
+    private final String letters;
+
+    private SeatLayout(int rows, String layout) {
+        this.rows = rows;
+        this.layout = layout;
+        this.letters = layout.replace("-", "");
+    }
+
+    /**
+     * null / geçersiz değerlerde varsayılan düzen (30 sıra, ABC-DEF).
+     */
+    public static SeatLayout of(Integer rows, String layout) {
+        int r = rows == null || rows <= 0 ? DEFAULT_ROWS : rows;
+        String l = layout == null ? "" : layout.trim().toUpperCase(Locale.ROOT);
+        if (!l.matches("[A-Z]+(-[A-Z]+)*") || l.replace("-", "").length() > 26) l = DEFAULT_LAYOUT;
+        return new SeatLayout(r, l);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public String layout() {
+        return layout;
+    }
+
+    public int seatsPerRow() {
+        return letters.length();
+    }
+
+    public int seatCount() {
+        return rows * letters.length();
+    }
+
+    /**
+     * "12C" / "12c" -> indeks; düzende olmayan koltukta -1.
+     */
+    public int indexOf(String seatNumber) {
+        if (seatNumber == null) return -1;
+        String s = seatNumber.trim().toUpperCase(Locale.ROOT);
+        if (s.length() < 2) return -1;
+
+        int col = letters.indexOf(s.charAt(s.length() - 1));
+        if (col < 0) return -1;
+
+        int row;
+        try {
+            row = Integer.parseInt(s.substring(0, s.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        if (row < 1 || row > rows) return -1;
+
+        return (row - 1) * letters.length() + col;
+    }
+
+    public String seatNumber(int index) {
+        return rowOf(index) + String.valueOf(letters.charAt(index % letters.length()));
+    }
+
+    public int rowOf(int index) {
+        return index / letters.length() + 1;
+    }
+
+    public char letterOf(int index) {
+        return letters.charAt(index % letters.length());
+    }
+
+    /**
+     * Sıra içi koridorla ayrılmış gruplar; bit i = sıradaki i. koltuk ("ABC-DEF" -> 0b000111, 0b111000).
+     */
+    public long[] groupMasks() {
+        String[] groups = layout.split("-");
+        long[] masks = new long[groups.length];
+        int col = 0;
+        for (int g = 0; g < groups.length; g++) {
+            for (int i = 0; i < groups[g].length(); i++) masks[g] |= 1L << col++;
+        }
+        return masks;
+    }
+
+    // Düzenin başı/sonu pencere, '-' komşusu koridor
+    public Position positionOf(int index) {
+        int at = layout.indexOf(letterOf(index));
+        if (at == 0 || at == layout.length() - 1) return Position.WINDOW;
+        if (layout.charAt(at - 1) == '-' || layout.charAt(at + 1) == '-') return Position.AISLE;
+        return Position.MIDDLE;
+    }
+}
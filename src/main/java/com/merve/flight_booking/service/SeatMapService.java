@@ -0,0 +1,158 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.SeatMapResponse;
+import com.merve.flight_booking.dto.SeatMapRow;
+import com.merve.flight_booking.dto.SeatMapSeat;
+import com.merve.flight_booking.entity.SeatOption;
+import com.merve.flight_booking.repository.SeatOptionRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Koltuk haritası: SeatInventory bitset'i + düzen başına hazır koltuk -> SeatOption şablonu.
+ * - Render sırasında DB'ye gidilmez (BookingSeat sorgusu yok)
+ * - ETag = uçuş + bitset yükleme anı + bitset versiyonu + seat option versiyonu;
+ *   değişmediyse son render tekrar kullanılır / 304
+ */
+@Service
+public class SeatMapService {
+
+    public record SeatMap(String etag, SeatMapResponse body) {}
+
+    // Koltuk indeksi -> fiyatlandırıldığı SeatOption (null: option tanımlı değil)
+    private record Template(SeatLayout layout, SeatOption[] optionBySeat) {}
+
+    private final SeatInventory seatInventory;
+    private final SeatOptionRepository seatOptionRepository;
+    private final ReferenceDataSnapshots referenceDataSnapshots;
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    private final Map<Long, SeatMap> lastRendered = new ConcurrentHashMap<>();
+
+    public SeatMapService(
+            SeatInventory seatInventory,
+            SeatOptionRepository seatOptionRepository,
+            ReferenceDataSnapshots referenceDataSnapshots
+    ) {
+        this.seatInventory = seatInventory;
+        this.seatOptionRepository = seatOptionRepository;
+        this.referenceDataSnapshots = referenceDataSnapshots;
+    }
+
+    public SeatMap seatMap(Long flightId) {
+        SeatInventory.FlightSeats seats = seatInventory.seats(flightId);
+        long optionsVersion = referenceDataSnapshots.get(ReferenceDataSnapshots.Kind.SEAT_OPTIONS).version();
+
+        // Versiyon bitlerden önce okunur: arada değişiklik olursa sonraki istekte ETag farklı olur
+        long version = seats.version().get();
+        String etag = "\"" + flightId + "-" + seats.loadedAt() + "-" + version + "-" + optionsVersion + "\"";
+
+        SeatMap last = lastRendered.get(flightId);
+        if (last != null && last.etag().equals(etag)) return last;
+
+        SeatMap rendered = new SeatMap(etag, render(flightId, seats, template(seats.layout(), optionsVersion), version));
+        lastRendered.put(flightId, rendered);
+        return rendered;
+    }
+
+    // Koltuğun fiyatlandırıldığı SeatOption (öneri / otomatik atama için)
+    public SeatOption optionAt(SeatLayout layout, int index) {
+        long optionsVersion = referenceDataSnapshots.get(ReferenceDataSnapshots.Kind.SEAT_OPTIONS).version();
+        return template(layout, optionsVersion).optionBySeat()[index];
+    }
+
+    /**
+     * Numarası verilen koltuk, seçilen option ile fiyatlandırılmalı (ucuz option ile pahalı koltuk alınamaz); değilse 400.
+     */
+    public void requireOption(SeatLayout layout, int index, SeatOption option) {
+        SeatOption expected = optionAt(layout, index);
+        if (expected != null && !expected.getId().equals(option.getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Seat " + layout.seatNumber(index) + " requires seat option " + expected.getId() + " (" + expected.getSeatType() + ")");
+        }
+    }
+
+    public boolean hasOption(SeatLayout layout, int index, SeatOption option) {
+        SeatOption expected = optionAt(layout, index);
+        return expected == null || expected.getId().equals(option.getId());
+    }
+
+    private SeatMapResponse render(Long flightId, SeatInventory.FlightSeats seats, Template template, long version) {
+        SeatLayout layout = seats.layout();
+        List<SeatMapRow> rows = new ArrayList<>(layout.rows());
+        int available = 0;
+
+        for (int r = 0; r < layout.rows(); r++) {
+            List<SeatMapSeat> rowSeats = new ArrayList<>(layout.seatsPerRow());
+
+            for (int c = 0; c < layout.seatsPerRow(); c++) {
+                int index = r * layout.seatsPerRow() + c;
+                boolean free = !seats.isOccupied(index);
+                if (free) available++;
+
+                SeatOption option = template.optionBySeat()[index];
+                rowSeats.add(new SeatMapSeat(
+                        layout.seatNumber(index),
+                        String.valueOf(layout.letterOf(index)),
+                        layout.positionOf(index).name(),
+                        option == null ? null : option.getId(),
+                        option == null ? null : option.getSeatType(),
+                        option == null ? null : option.getPrice(),
+                        free
+                ));
+            }
+            rows.add(new SeatMapRow(r + 1, rowSeats));
+        }
+
+        return new SeatMapResponse(flightId, layout.layout(), layout.seatCount(), available, version, rows);
+    }
+
+    private Template template(SeatLayout layout, long optionsVersion) {
+        String key = layout.rows() + "|" + layout.layout() + "|" + optionsVersion;
+        Template t = templates.get(key);
+        if (t != null) return t;
+
+        // Eski option versiyonlarının şablonları atılır
+        templates.keySet().removeIf(old -> !old.endsWith("|" + optionsVersion));
+        t = buildTemplate(layout, seatOptionRepository.findAll());
+        Template existing = templates.putIfAbsent(key, t);
+        return existing != null ? existing : t;
+    }
+
+    /**
+     * Koltuk -> SeatOption eşlemesi seatType adına göre:
+     * - 1. sıra: "LEG" / "EXTRA" içeren option (varsa)
+     * - konum: "WINDOW" / "AISLE" / "MIDDLE" içeren option
+     * - yoksa en ucuz option (standart koltuk)
+     */
+    private static Template buildTemplate(SeatLayout layout, List<SeatOption> options) {
+        SeatOption cheapest = options.stream().min(Comparator.comparingDouble(SeatOption::getPrice)).orElse(null);
+        SeatOption extraLegroom = byType(options, "LEG", "EXTRA");
+
+        SeatOption[] bySeat = new SeatOption[layout.seatCount()];
+        for (int i = 0; i < bySeat.length; i++) {
+            SeatOption option = layout.rowOf(i) == 1 ? extraLegroom : null;
+            if (option == null) option = byType(options, layout.positionOf(i).name());
+            bySeat[i] = option != null ? option : cheapest;
+        }
+        return new Template(layout, bySeat);
+    }
+
+    private static SeatOption byType(List<SeatOption> options, String... keywords) {
+        for (SeatOption o : options) {
+            String type = o.getSeatType() == null ? "" : o.getSeatType().toUpperCase(Locale.ROOT);
+            for (String k : keywords) {
+                if (type.contains(k)) return o;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,240 @@
+package com.merve.flight_booking.service;
+
+import com.merve.flight_booking.dto.SeatRecommendationResponse;
+import com.merve.flight_booking.entity.SeatOption;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Grup için yan yana koltuk önerisi (SeatInventory bitset'i üzerinde).
+ * - Her sıra tek bir long maskeye indirgenir (bit i = sıradaki i. koltuk boş)
+ * - Bitişik blok: m & (m >>> 1) & ... (p - 1 kez); önce koridorsuz grup içinde, sonra koridor karşısı
+ * - Bulunamazsa / yetmezse ardışık sıralarda merkeze en yakın boş koltuklar (NEARBY)
+ * Puan küçük olan önce: tür cezası + sıra (öne yakın) - tercih edilen tipe uyan koltuk sayısı.
+ */
+@Service
+public class SeatRecommender {
+
+    public static final int MAX_PARTY_SIZE = 9;
+    private static final int DEFAULT_LIMIT = 5;
+
+    public enum Kind { SAME_GROUP, ACROSS_AISLE, NEARBY }
+
+    public record Recommendation(int[] seats, Kind kind, double score) {}
+
+    private static final double ACROSS_AISLE_PENALTY = 100;
+    private static final double NEARBY_PENALTY = 200;
+    private static final double ROW_WEIGHT = 0.1;
+    private static final double PREFERENCE_BONUS = 5;
+
+    private final SeatInventory seatInventory;
+    private final SeatMapService seatMapService;
+
+    public SeatRecommender(SeatInventory seatInventory, SeatMapService seatMapService) {
+        this.seatInventory = seatInventory;
+        this.seatMapService = seatMapService;
+    }
+
+    /**
+     * preferredType: SeatOption tipi ("WINDOW", "EXTRA_LEGROOM", ...) ya da konum (WINDOW / AISLE / MIDDLE); null olabilir.
+     */
+    public List<Recommendation> recommend(Long flightId, int partySize, String preferredType, int limit) {
+        if (partySize < 1 || partySize > MAX_PARTY_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "partySize must be between 1 and " + MAX_PARTY_SIZE);
+        }
+
+        SeatInventory.FlightSeats fs = seatInventory.seats(flightId);
+        SeatLayout layout = fs.layout();
+        int perRow = layout.seatsPerRow();
+        long rowBits = perRow == 64 ? -1L : (1L << perRow) - 1;
+        long[] groups = layout.groupMasks();
+
+        long[] free = freeRows(fs.occupied(), layout, rowBits);
+        long[] preferred = preferenceRows(layout, preferredType);
+
+        List<Recommendation> found = new ArrayList<>();
+
+        if (partySize <= perRow) {
+            for (int r = 0; r < layout.rows(); r++) {
+                // Grup içi bitişik bloklar
+                for (long g : groups) {
+                    long starts = runStarts(free[r] & g, partySize);
+                    for (long s = starts; s != 0; s &= s - 1) {
+                        int col = Long.numberOfTrailingZeros(s);
+                        found.add(block(layout, r, col, partySize, 0, preferred[r]));
+                    }
+                }
+
+                // Koridor karşısına taşan bloklar (tek bir gruba sığanlar zaten eklendi)
+                long starts = runStarts(free[r], partySize);
+                for (long s = starts; s != 0; s &= s - 1) {
+                    int col = Long.numberOfTrailingZeros(s);
+                    long mask = blockMask(col, partySize);
+                    if (!insideOneGroup(mask, groups)) {
+                        found.add(block(layout, r, col, partySize, ACROSS_AISLE_PENALTY, preferred[r]));
+                    }
+                }
+            }
+        }
+
+        if (found.size() < limit) {
+            found.addAll(nearby(layout, free, preferred, partySize));
+        }
+
+        found.sort(Comparator.comparingDouble(Recommendation::score));
+        return distinct(found, limit);
+    }
+
+    public List<SeatRecommendationResponse> recommendations(Long flightId, int partySize, String preferredType) {
+        SeatLayout layout = seatInventory.layout(flightId);
+        return recommend(flightId, partySize, preferredType, DEFAULT_LIMIT).stream()
+                .map(r -> new SeatRecommendationResponse(
+                        Arrays.stream(r.seats()).mapToObj(layout::seatNumber).toList(),
+                        r.kind().name(),
+                        r.score()
+                ))
+                .toList();
+    }
+
+    // Tek yolcu için tercih edilen tipe göre sıralı aday koltuklar (otomatik atama)
+    public List<Integer> singleSeatCandidates(Long flightId, String preferredType, int limit) {
+        return recommend(flightId, 1, preferredType, limit).stream()
+                .map(r -> r.seats()[0])
+                .toList();
+    }
+
+    /**
+     * Bit i set ise i..i+p-1 arası tümü boş.
+     */
+    private static long runStarts(long mask, int p) {
+        long run = mask;
+        for (int i = 1; i < p && run != 0; i++) run &= mask >>> i;
+        return run;
+    }
+
+    private static long blockMask(int col, int p) {
+        long bits = p == 64 ? -1L : (1L << p) - 1;
+        return bits << col;
+    }
+
+    private static boolean insideOneGroup(long mask, long[] groups) {
+        for (long g : groups) {
+            if ((mask & ~g) == 0) return true;
+        }
+        return false;
+    }
+
+    private static Recommendation block(SeatLayout layout, int row, int col, int p, double penalty, long preferredRow) {
+        int[] seats = new int[p];
+        for (int i = 0; i < p; i++) seats[i] = row * layout.seatsPerRow() + col + i;
+
+        int matches = Long.bitCount(blockMask(col, p) & preferredRow);
+        double score = penalty + row * ROW_WEIGHT - matches * PREFERENCE_BONUS;
+        return new Recommendation(seats, penalty == 0 ? Kind.SAME_GROUP : Kind.ACROSS_AISLE, score);
+    }
+
+    /**
+     * Bitişik blok yoksa: her sıra çapa alınır, çapa + sonraki sıralardaki boş koltuklardan
+     * sıra merkezine en yakın p tanesi seçilir; puan = yayılım (sıra farkı * 2 + kolon aralığı).
+     */
+    private static List<Recommendation> nearby(SeatLayout layout, long[] free, long[] preferred, int p) {
+        int perRow = layout.seatsPerRow();
+        int rowsNeeded = (p + perRow - 1) / perRow;
+        double center = (perRow - 1) / 2.0;
+
+        List<Recommendation> result = new ArrayList<>();
+        for (int r = 0; r + rowsNeeded <= layout.rows(); r++) {
+            int span = Math.min(layout.rows() - r, rowsNeeded + 1);
+
+            int available = 0;
+            for (int k = 0; k < span; k++) available += Long.bitCount(free[r + k]);
+            if (available < p) continue;
+
+            // (sıra farkı, merkeze uzaklık) sırasıyla boş koltuklar
+            List<int[]> candidates = new ArrayList<>(available);
+            for (int k = 0; k < span; k++) {
+                for (long m = free[r + k]; m != 0; m &= m - 1) {
+                    candidates.add(new int[]{k, Long.numberOfTrailingZeros(m)});
+                }
+            }
+            candidates.sort(Comparator
+                    .comparingInt((int[] c) -> c[0])
+                    .thenComparingDouble(c -> Math.abs(c[1] - center)));
+
+            int[] seats = new int[p];
+            int minCol = perRow;
+            int maxCol = -1;
+            int lastRow = 0;
+            int matches = 0;
+            for (int i = 0; i < p; i++) {
+                int[] c = candidates.get(i);
+                seats[i] = (r + c[0]) * perRow + c[1];
+                minCol = Math.min(minCol, c[1]);
+                maxCol = Math.max(maxCol, c[1]);
+                lastRow = Math.max(lastRow, c[0]);
+                if ((preferred[r + c[0]] & (1L << c[1])) != 0) matches++;
+            }
+            Arrays.sort(seats);
+
+            double spread = lastRow * 2 + (maxCol - minCol + 1 - Math.min(p, perRow));
+            double score = NEARBY_PENALTY + spread + r * ROW_WEIGHT - matches * PREFERENCE_BONUS;
+            result.add(new Recommendation(seats, Kind.NEARBY, score));
+        }
+        return result;
+    }
+
+    // AtomicLongArray'den sıra maskelerine (word sınırını aşan sıralar iki word'den birleştirilir)
+    private static long[] freeRows(AtomicLongArray occupied, SeatLayout layout, long rowBits) {
+        int perRow = layout.seatsPerRow();
+        long[] words = new long[occupied.length()];
+        for (int i = 0; i < words.length; i++) words[i] = occupied.get(i);
+
+        long[] free = new long[layout.rows()];
+        for (int r = 0; r < layout.rows(); r++) {
+            int start = r * perRow;
+            int word = start >>> 6;
+            int shift = start & 63;
+
+            long bits = words[word] >>> shift;
+            if (shift + perRow > 64 && word + 1 < words.length) bits |= words[word + 1] << (64 - shift);
+            free[r] = ~bits & rowBits;
+        }
+        return free;
+    }
+
+    private long[] preferenceRows(SeatLayout layout, String preferredType) {
+        long[] preferred = new long[layout.rows()];
+        if (preferredType == null || preferredType.isBlank()) return preferred;
+
+        String pref = preferredType.trim().toUpperCase(Locale.ROOT);
+        for (int i = 0; i < layout.seatCount(); i++) {
+            SeatOption option = seatMapService.optionAt(layout, i);
+            String type = option == null || option.getSeatType() == null ? "" : option.getSeatType().toUpperCase(Locale.ROOT);
+
+            if (type.equals(pref) || type.contains(pref) || pref.contains(layout.positionOf(i).name())) {
+                preferred[layout.rowOf(i) - 1] |= 1L << (i % layout.seatsPerRow());
+            }
+        }
+        return preferred;
+    }
+
+    private static List<Recommendation> distinct(List<Recommendation> sorted, int limit) {
+        List<Recommendation> result = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        for (Recommendation r : sorted) {
+            if (result.size() >= limit) break;
+            if (seen.add(Arrays.toString(r.seats()))) result.add(r);
+        }
+        return result;
+    }
+}